@@ -0,0 +1,78 @@
+package org.galaxy.server.benchmark;
+
+import org.galaxy.server.config.CatalogSnapshotFile;
+import org.galaxy.server.config.RestaurantCsvParser;
+import org.galaxy.server.index.RestaurantIndex;
+import org.galaxy.server.model.Restaurant;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catalog load path used by {@code DataLoader}: CSV parsing, reading the binary snapshot,
+ * and building the indexed {@link RestaurantIndex} from parsed rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx12g"})
+public class IngestionBenchmark {
+
+    private static final String FINGERPRINT = "benchmark";
+
+    @Param({"10000", "1000000", "10000000"})
+    public int catalogSize;
+
+    private Map<Integer, String> cuisines;
+    private List<Restaurant> restaurants;
+    private byte[] csv;
+    private Path snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        cuisines = SyntheticCatalog.cuisines();
+        restaurants = SyntheticCatalog.restaurants(catalogSize, 42);
+        csv = SyntheticCatalog.csv(restaurants);
+        snapshot = Files.createTempFile("catalog-benchmark", ".snapshot");
+        CatalogSnapshotFile.write(snapshot, FINGERPRINT, restaurants);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(snapshot);
+    }
+
+    @Benchmark
+    public RestaurantCsvParser.Result parseCsv() {
+        return RestaurantCsvParser.parse(csv, cuisines);
+    }
+
+    @Benchmark
+    public List<Restaurant> readSnapshot() throws IOException {
+        return CatalogSnapshotFile.read(snapshot, FINGERPRINT).orElseThrow();
+    }
+
+    @Benchmark
+    public RestaurantIndex buildIndex() {
+        return RestaurantIndex.build(restaurants, 1);
+    }
+}
@@ -0,0 +1,274 @@
+package org.galaxy.server.benchmark;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.galaxy.server.ServerApplication;
+import org.galaxy.server.benchmark.LoadWorkload.Endpoint;
+import org.galaxy.server.benchmark.LoadWorkload.LoadRequest;
+import org.galaxy.server.model.Restaurant;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Open-loop HTTP load generator for the search, reservation and agent controllers.
+ * <p>
+ * It starts the application in-process on a random port, backed by an in-memory H2 database and
+ * an {@link OfflineChatModel}, so it needs no network, and then sends requests from
+ * {@link LoadWorkload} at a fixed rate regardless of how fast responses come back. Latency is
+ * measured from each request's scheduled send time rather than the moment it was actually sent,
+ * so a stalled server shows up in the percentiles instead of silently lowering the request rate
+ * (coordinated omission). Requests beyond {@code max-in-flight} outstanding ones are dropped and
+ * counted. Options are passed as {@code --name=value}:
+ * <ul>
+ *     <li>{@code rate}: requests per second (default 200)</li>
+ *     <li>{@code duration} and {@code warmup}: measured and discarded run time (default PT60S and PT10S)</li>
+ *     <li>{@code mix}: endpoint weights (default search:70,facets:5,reserve:10,reservations:10,agent:5)</li>
+ *     <li>{@code catalog-size}: load a {@link SyntheticCatalog} of this size instead of the bundled CSVs</li>
+ *     <li>{@code agent-latency}: simulated model latency per call (default PT0.3S)</li>
+ *     <li>{@code max-in-flight}: outstanding request cap (default 2000)</li>
+ *     <li>{@code url}: drive an already running server instead of starting one</li>
+ *     <li>{@code seed}: workload seed (default 42)</li>
+ * </ul>
+ */
+public final class LoadGenerator {
+
+    private static final String DEFAULT_MIX = "search:70,facets:5,reserve:10,reservations:10,agent:5";
+    private static final int BUNDLED_RESTAURANTS = 199;
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseArgs(args);
+        double rate = Double.parseDouble(options.getOrDefault("rate", "200"));
+        Duration duration = Duration.parse(options.getOrDefault("duration", "PT60S"));
+        Duration warmup = Duration.parse(options.getOrDefault("warmup", "PT10S"));
+        Map<Endpoint, Integer> mix = LoadWorkload.parseMix(options.getOrDefault("mix", DEFAULT_MIX));
+        int catalogSize = Integer.parseInt(options.getOrDefault("catalog-size", "0"));
+        Duration agentLatency = Duration.parse(options.getOrDefault("agent-latency", "PT0.3S"));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "2000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        if (rate <= 0) {
+            throw new IllegalArgumentException("rate must be positive");
+        }
+
+        ConfigurableApplicationContext context = null;
+        Path catalogDirectory = null;
+        try {
+            URI baseUri;
+            int restaurantCount = catalogSize > 0 ? catalogSize : BUNDLED_RESTAURANTS;
+            if (options.containsKey("url")) {
+                baseUri = URI.create(options.get("url"));
+            } else {
+                Map<String, Object> properties = applicationProperties();
+                if (catalogSize > 0) {
+                    catalogDirectory = Files.createTempDirectory("load-catalog");
+                    properties.putAll(writeCatalog(catalogDirectory, catalogSize, seed));
+                }
+                context = start(properties, agentLatency);
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                baseUri = URI.create("http://localhost:" + port);
+            }
+
+            System.out.printf("Driving %s at %.0f req/s for %s after a %s warmup, mix %s%n",
+                    baseUri, rate, duration, warmup, mix);
+            LoadWorkload workload = new LoadWorkload(baseUri, restaurantCount, mix, seed);
+            Map<Endpoint, EndpointStats> stats = run(workload, rate, warmup, duration, maxInFlight, mix);
+            report(stats, duration);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+            if (catalogDirectory != null) {
+                try (var files = Files.list(catalogDirectory)) {
+                    for (Path file : files.toList()) {
+                        Files.deleteIfExists(file);
+                    }
+                }
+                Files.deleteIfExists(catalogDirectory);
+            }
+        }
+    }
+
+    /**
+     * Overrides that keep the run self-contained: a fresh in-memory database, no snapshot file,
+     * a dummy API key for the OpenAI auto-configuration, and quiet logging.
+     */
+    private static Map<String, Object> applicationProperties() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.datasource.url", "jdbc:h2:mem:load;DB_CLOSE_DELAY=-1");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.h2.console.enabled", "false");
+        properties.put("spring.ai.openai.api-key", "offline");
+        properties.put("app.catalog.snapshot-file", "");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.root", "warn");
+        properties.put("server.tomcat.threads.max", "400");
+        return properties;
+    }
+
+    private static Map<String, Object> writeCatalog(Path directory, int size, long seed) throws IOException {
+        List<Restaurant> restaurants = SyntheticCatalog.restaurants(size, seed);
+        Path restaurantsFile = Files.write(directory.resolve("restaurants.csv"), SyntheticCatalog.csv(restaurants));
+        String cuisines = SyntheticCatalog.cuisines().entrySet().stream()
+                .map(entry -> entry.getKey() + "," + entry.getValue())
+                .collect(Collectors.joining("\n", "id,name\n", "\n"));
+        Path cuisinesFile = Files.writeString(directory.resolve("cuisines.csv"), cuisines);
+        return Map.of(
+                "app.catalog.restaurants-file", restaurantsFile.toString(),
+                "app.catalog.cuisines-file", cuisinesFile.toString());
+    }
+
+    private static ConfigurableApplicationContext start(Map<String, Object> properties, Duration agentLatency) {
+        return new SpringApplicationBuilder(ServerApplication.class)
+                .properties(properties)
+                .initializers(context -> ((GenericApplicationContext) context).registerBean(
+                        "offlineChatModel", ChatModel.class, () -> new OfflineChatModel(agentLatency),
+                        definition -> definition.setPrimary(true)))
+                .run();
+    }
+
+    private static Map<Endpoint, EndpointStats> run(LoadWorkload workload, double rate, Duration warmup,
+                                                    Duration duration, int maxInFlight,
+                                                    Map<Endpoint, Integer> mix) throws InterruptedException {
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : mix.keySet()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long startNanos = System.nanoTime();
+        long measureFromNanos = startNanos + warmup.toNanos();
+        long endNanos = measureFromNanos + duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            long scheduledNanos = startNanos + i * intervalNanos;
+            if (scheduledNanos >= endNanos) {
+                break;
+            }
+            long waitNanos = scheduledNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(waitNanos);
+            }
+
+            // Warmup requests are sent like any other but left out of the report
+            LoadRequest next = workload.next();
+            EndpointStats endpointStats = scheduledNanos >= measureFromNanos ? stats.get(next.endpoint()) : null;
+            if (!inFlight.tryAcquire()) {
+                if (endpointStats != null) {
+                    endpointStats.dropped.increment();
+                }
+                continue;
+            }
+            client.sendAsync(next.request(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        inFlight.release();
+                        if (endpointStats != null) {
+                            endpointStats.record(System.nanoTime() - scheduledNanos,
+                                    failure == null && response.statusCode() < 400);
+                        }
+                    });
+        }
+
+        // Let outstanding requests finish so they are counted against the measured window.
+        if (!inFlight.tryAcquire(maxInFlight, 60, TimeUnit.SECONDS)) {
+            System.out.println("Some requests were still outstanding after 60 s and are not reported.");
+        }
+        return stats;
+    }
+
+    private static void report(Map<Endpoint, EndpointStats> stats, Duration duration) {
+        double seconds = duration.toNanos() / 1e9;
+        System.out.println();
+        System.out.printf("%-36s %9s %8s %7s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "req/s", "errors", "dropped", "count", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+        long totalErrors = 0;
+        long totalDropped = 0;
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            Histogram histogram = entry.getValue().recorder.getIntervalHistogram();
+            long errors = entry.getValue().errors.sum();
+            long dropped = entry.getValue().dropped.sum();
+            total.add(histogram);
+            totalErrors += errors;
+            totalDropped += dropped;
+            printRow(entry.getKey().label, histogram, errors, dropped, seconds);
+        }
+        printRow("total", total, totalErrors, totalDropped, seconds);
+    }
+
+    private static void printRow(String label, Histogram histogram, long errors, long dropped, double seconds) {
+        System.out.printf("%-36s %9.1f %8d %7d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                label,
+                histogram.getTotalCount() / seconds,
+                errors,
+                dropped,
+                histogram.getTotalCount(),
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Options look like --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        return options;
+    }
+
+    /**
+     * Latencies in microseconds of one endpoint's completed requests; failed requests are
+     * recorded too, since a fast error is still a response the client waited for.
+     */
+    private static final class EndpointStats {
+        private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+
+        void record(long latencyNanos, boolean success) {
+            recorder.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+            if (!success) {
+                errors.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package org.galaxy.server.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.StringJoiner;
+
+/**
+ * Generates the mixed request stream driven by {@link LoadGenerator}. Search parameters follow
+ * what the UI and agent actually send: most queries carry one or two filters, ratings cluster at
+ * 3-4, distances and cuisines are skewed towards the nearby and popular ones, and a few queries
+ * use a location, a non-default sort or a misspelled name. Reservations concentrate on a small
+ * set of popular restaurants and dinner slots, so concurrent bookings really do collide.
+ */
+final class LoadWorkload {
+
+    enum Endpoint {
+        SEARCH("search", "GET /search/advanced"),
+        FACETS("facets", "GET /search/facets"),
+        CREATE_RESERVATION("reserve", "POST /reservations"),
+        LIST_RESERVATIONS("reservations", "GET /reservations/restaurant/{id}"),
+        AGENT_CHAT("agent", "POST /agents/chat");
+
+        final String key;
+        final String label;
+
+        Endpoint(String key, String label) {
+            this.key = key;
+            this.label = label;
+        }
+
+        static Endpoint fromKey(String key) {
+            for (Endpoint endpoint : values()) {
+                if (endpoint.key.equals(key)) {
+                    return endpoint;
+                }
+            }
+            throw new IllegalArgumentException("Unknown endpoint in mix: " + key);
+        }
+    }
+
+    record LoadRequest(Endpoint endpoint, HttpRequest request) {}
+
+    static final String[] CUISINES = {
+            "american", "italian", "chinese", "mexican", "japanese", "thai", "indian", "french", "korean",
+            "spanish", "greek", "vietnamese", "turkish", "german", "malaysian", "indonesian", "african", "russian"
+    };
+    static final String[] NAME_WORDS = {
+            "delicious", "chow", "grill", "bistro", "kitchen", "deli", "house", "tasty", "garden", "golden"
+    };
+    private static final String[] SORTS = {"cheapest", "best-rated", "score"};
+    private static final String[] AGENT_MESSAGES = {
+            "Find me a good %s place nearby",
+            "Any cheap %s restaurants within 3 miles?",
+            "I want the best rated %s food around here",
+            "Book a table for 4 at a %s restaurant tonight",
+            "Is there a free table for 2 at Golden %s tomorrow at 7pm?"
+    };
+    private static final double CENTER_LATITUDE = 40.7580;
+    private static final double CENTER_LONGITUDE = -73.9855;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int POPULAR_RESTAURANTS = 10;
+    private static final int RESERVATION_DAYS = 14;
+
+    private final URI baseUri;
+    private final int restaurantCount;
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+    private final SplittableRandom random;
+
+    LoadWorkload(URI baseUri, int restaurantCount, Map<Endpoint, Integer> mix, long seed) {
+        this.baseUri = baseUri;
+        this.restaurantCount = restaurantCount;
+        this.endpoints = mix.keySet().toArray(Endpoint[]::new);
+        this.cumulativeWeights = new int[endpoints.length];
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += mix.get(endpoints[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("The request mix needs at least one positive weight");
+        }
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Parses a mix such as {@code search:70,facets:5,reserve:10,reservations:10,agent:5}.
+     */
+    static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix entries look like endpoint:weight, got " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weights must not be negative: " + entry);
+            }
+            weights.put(Endpoint.fromKey(parts[0].trim()), weight);
+        }
+        return weights;
+    }
+
+    /**
+     * Returns the next request. Only called from the pacing thread, so the generator state is unshared.
+     */
+    LoadRequest next() {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int i = 0;
+        while (pick >= cumulativeWeights[i]) {
+            i++;
+        }
+        Endpoint endpoint = endpoints[i];
+        HttpRequest request = switch (endpoint) {
+            case SEARCH -> get("/search/advanced" + searchQuery(true));
+            case FACETS -> get("/search/facets" + searchQuery(false));
+            case CREATE_RESERVATION -> post("/reservations", reservationBody());
+            case LIST_RESERVATIONS -> get(listReservationsPath());
+            case AGENT_CHAT -> post("/agents/chat", agentBody());
+        };
+        return new LoadRequest(endpoint, request);
+    }
+
+    private String searchQuery(boolean paged) {
+        StringJoiner query = new StringJoiner("&", "?", "").setEmptyValue("");
+        if (chance(0.25)) {
+            String word = NAME_WORDS[skewed(NAME_WORDS.length)];
+            if (chance(0.2)) {
+                // Drop one letter; the fuzzy parameter lets the typo still match
+                int at = random.nextInt(word.length());
+                query.add("name=" + word.substring(0, at) + word.substring(at + 1));
+                query.add("fuzzy=1");
+            } else {
+                query.add("name=" + word);
+            }
+        }
+        if (chance(0.3)) {
+            query.add("cuisine=" + CUISINES[skewed(CUISINES.length)]);
+        }
+        if (chance(0.4)) {
+            double p = random.nextDouble();
+            query.add("rating=" + (p < 0.4 ? 3 : p < 0.85 ? 4 : 5));
+        }
+        if (chance(0.35)) {
+            query.add("distance=" + (1 + skewed(10)));
+        }
+        if (chance(0.3)) {
+            query.add("price=" + (15 + 5 * random.nextInt(8)));
+        }
+
+        boolean located = chance(0.1);
+        if (located) {
+            query.add("latitude=" + (CENTER_LATITUDE + random.nextDouble(-0.02, 0.02)));
+            query.add("longitude=" + (CENTER_LONGITUDE + random.nextDouble(-0.02, 0.02)));
+            query.add("radius=" + (1 + random.nextInt(5)));
+        }
+        if (paged) {
+            // Location searches are always nearest first, so only plain searches pick a sort
+            if (!located && chance(0.15)) {
+                query.add("sort=" + SORTS[random.nextInt(SORTS.length)]);
+            }
+            double p = random.nextDouble();
+            if (p >= 0.7) {
+                query.add("limit=" + (p < 0.9 ? 10 : 20));
+            }
+        }
+        return query.toString();
+    }
+
+    private String reservationBody() {
+        LocalDateTime start = LocalDate.now().plusDays(1 + random.nextInt(RESERVATION_DAYS))
+                .atTime(LocalTime.of(17, 0))
+                .plusMinutes(30L * random.nextInt(10));
+        return String.format(
+                "{\"restaurantId\":%d,\"reservationName\":\"Load %d\",\"guestCount\":%d,"
+                        + "\"startTime\":\"%s\",\"endTime\":\"%s\"}",
+                restaurantId(), random.nextInt(1_000_000), 1 + skewed(8), start, start.plusMinutes(90));
+    }
+
+    private String listReservationsPath() {
+        String path = "/reservations/restaurant/" + restaurantId();
+        if (chance(0.5)) {
+            LocalDate day = LocalDate.now().plusDays(1 + random.nextInt(RESERVATION_DAYS));
+            path += "?start=" + day.atStartOfDay() + "&end=" + day.plusDays(1).atStartOfDay();
+        }
+        return path;
+    }
+
+    private String agentBody() {
+        String message = String.format(AGENT_MESSAGES[random.nextInt(AGENT_MESSAGES.length)],
+                CUISINES[skewed(CUISINES.length)]);
+        return "{\"message\":\"" + message + "\"}";
+    }
+
+    /**
+     * Half of the traffic goes to a handful of popular restaurants, the rest is spread evenly.
+     */
+    private int restaurantId() {
+        int popular = Math.min(POPULAR_RESTAURANTS, restaurantCount);
+        return 1 + (chance(0.5) ? random.nextInt(popular) : random.nextInt(restaurantCount));
+    }
+
+    /**
+     * Index in {@code [0, n)} biased towards the front: the first tenth of the choices gets about
+     * a third of the picks.
+     */
+    private int skewed(int n) {
+        double u = random.nextDouble();
+        return (int) (n * u * u);
+    }
+
+    private boolean chance(double probability) {
+        return random.nextDouble() < probability;
+    }
+
+    private HttpRequest get(String pathAndQuery) {
+        return HttpRequest.newBuilder(uri(pathAndQuery))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private URI uri(String pathAndQuery) {
+        return baseUri.resolve(pathAndQuery);
+    }
+}
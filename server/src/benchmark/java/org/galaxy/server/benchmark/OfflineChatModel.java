@@ -0,0 +1,89 @@
+package org.galaxy.server.benchmark;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Stand-in for the OpenAI model so the agent endpoint can be load tested offline. It recognises
+ * the prompts sent by {@code AgentOrchestrator}, {@code RestaurantSearchTool} and
+ * {@code CheckAvailabilityTool}, answers them the way the real model would for the messages
+ * {@link LoadWorkload} sends, and waits a fixed latency per call to account for the model round
+ * trip.
+ */
+final class OfflineChatModel implements ChatModel {
+
+    private final Duration latency;
+
+    OfflineChatModel(Duration latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        if (!latency.isZero()) {
+            LockSupport.parkNanos(latency.toNanos());
+        }
+        String text = prompt.getContents();
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(answer(text)))));
+    }
+
+    private static String answer(String prompt) {
+        if (prompt.contains("SEARCH, RESERVE or AVAILABILITY")) {
+            String message = after(prompt, "User input:");
+            if (message.contains("free table")) {
+                return "AVAILABILITY";
+            }
+            return message.contains("book") || message.contains("reserv") ? "RESERVE" : "SEARCH";
+        }
+        if (prompt.contains("Extract restaurant search parameters")) {
+            return searchParameters(after(prompt, "User message:"));
+        }
+        if (prompt.contains("Extract the restaurant availability check")) {
+            return availabilityParameters(after(prompt, "User message:"));
+        }
+        // Follow-up classification; the workload never carries a pending action
+        return "UNKNOWN";
+    }
+
+    private static String searchParameters(String message) {
+        String cuisine = null;
+        for (String candidate : LoadWorkload.CUISINES) {
+            if (message.contains(candidate)) {
+                cuisine = "\"" + candidate + "\"";
+                break;
+            }
+        }
+        Integer rating = message.contains("best") ? 4 : null;
+        Integer price = message.contains("cheap") ? 20 : null;
+        Integer distance = message.contains("within") ? 3 : null;
+        return String.format("{\"name\":null,\"rating\":%s,\"distance\":%s,\"price\":%s,\"cuisine\":%s,\"limit\":5}",
+                rating, distance, price, cuisine);
+    }
+
+    private static String availabilityParameters(String message) {
+        String name = null;
+        for (String candidate : LoadWorkload.NAME_WORDS) {
+            if (message.contains(candidate)) {
+                name = "\"" + candidate + "\"";
+                break;
+            }
+        }
+        // Every availability message in the workload asks about tomorrow evening
+        return String.format("{\"restaurantName\":%s,\"startTime\":\"%s\",\"guestCount\":%d}",
+                name, LocalDate.now().plusDays(1).atTime(19, 0), message.contains("for 4") ? 4 : 2);
+    }
+
+    private static String after(String prompt, String marker) {
+        int at = prompt.lastIndexOf(marker);
+        return (at < 0 ? prompt : prompt.substring(at + marker.length())).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,70 @@
+package org.galaxy.server.benchmark;
+
+import org.galaxy.server.index.RestaurantIndex;
+import org.galaxy.server.index.TopKSelector;
+import org.galaxy.server.model.Restaurant;
+import org.galaxy.server.model.RestaurantComparator;
+import org.galaxy.server.model.SortMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of ranking with {@link RestaurantComparator}: a full sort of the catalog compared with
+ * bounded top-K selection over the columnar index, per sort mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx8g"})
+public class RankingBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int catalogSize;
+
+    @Param({"DISTANCE", "CHEAPEST", "BEST_RATED", "SCORE"})
+    public SortMode sort;
+
+    @Param({"5", "1000"})
+    public int limit;
+
+    private List<Restaurant> restaurants;
+    private RestaurantIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        restaurants = SyntheticCatalog.restaurants(catalogSize, 42);
+        index = RestaurantIndex.build(restaurants);
+    }
+
+    @Benchmark
+    public List<Restaurant> fullSort() {
+        List<Restaurant> sorted = new ArrayList<>(restaurants);
+        sorted.sort(new RestaurantComparator(sort));
+        return sorted.subList(0, Math.min(limit, sorted.size()));
+    }
+
+    @Benchmark
+    public int[] topKSelection() {
+        TopKSelector selector = new TopKSelector(limit, (row1, row2) -> index.compareRows(sort, row1, row2));
+        for (int row = 0; row < index.size(); row++) {
+            selector.offer(row);
+        }
+        return selector.toSortedArray();
+    }
+}
@@ -0,0 +1,103 @@
+package org.galaxy.server.benchmark;
+
+import org.galaxy.server.config.DataLoader;
+import org.galaxy.server.index.RestaurantIndex;
+import org.galaxy.server.model.Restaurant;
+import org.galaxy.server.model.RestaurantSearchOptions;
+import org.galaxy.server.service.AvailabilityService;
+import org.galaxy.server.service.ParallelTopKSearch;
+import org.galaxy.server.service.RestaurantService;
+import org.galaxy.server.service.SearchResultCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of {@link RestaurantService#advancedSearch} per filter combination and limit.
+ * The result cache is disabled so every invocation runs the full plan and top-K selection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx12g"})
+public class SearchBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    public int catalogSize;
+
+    @Param({"none", "rating", "distance", "price", "cuisine", "name", "fuzzyName",
+            "rating+price", "rating+distance+price", "all"})
+    public String filters;
+
+    @Param({"5", "100", "10000"})
+    public int limit;
+
+    private RestaurantService restaurantService;
+    private ParallelTopKSearch parallelTopKSearch;
+    private RestaurantSearchOptions options;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RestaurantIndex index = RestaurantIndex.build(SyntheticCatalog.restaurants(catalogSize, 42));
+        parallelTopKSearch = new ParallelTopKSearch(100_000, 65_536, 0);
+        restaurantService = new RestaurantService(fixedIndex(index), new SearchResultCache(0, Duration.ZERO),
+                parallelTopKSearch, new AvailabilityService(null, 40, Duration.ofHours(1)));
+        options = options(filters, limit);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        parallelTopKSearch.shutdown();
+    }
+
+    @Benchmark
+    public List<Restaurant> advancedSearch() {
+        return restaurantService.advancedSearch(options);
+    }
+
+    static RestaurantSearchOptions options(String filters, int limit) {
+        RestaurantSearchOptions.RestaurantSearchOptionsBuilder builder = RestaurantSearchOptions.builder().limit(limit);
+        switch (filters) {
+            case "none" -> { }
+            case "rating" -> builder.rating(4);
+            case "distance" -> builder.distance(3);
+            case "price" -> builder.price(20);
+            case "cuisine" -> builder.cuisine("ital");
+            case "name" -> builder.name("delicious");
+            case "fuzzyName" -> builder.name("delicous").fuzzy(2);
+            case "rating+price" -> builder.rating(4).price(20);
+            case "rating+distance+price" -> builder.rating(3).distance(5).price(30);
+            case "all" -> builder.rating(3).distance(5).price(30).cuisine("ital").name("deli");
+            default -> throw new IllegalArgumentException("Unknown filter combination: " + filters);
+        }
+        return builder.build();
+    }
+
+    /**
+     * A {@link DataLoader} that serves a prebuilt index instead of loading the bundled CSVs.
+     */
+    static DataLoader fixedIndex(RestaurantIndex index) {
+        return new DataLoader() {
+            @Override
+            public RestaurantIndex getIndex() {
+                return index;
+            }
+        };
+    }
+}
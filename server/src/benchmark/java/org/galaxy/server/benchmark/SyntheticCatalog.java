@@ -0,0 +1,87 @@
+package org.galaxy.server.benchmark;
+
+import org.galaxy.server.model.Restaurant;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic generator of restaurant catalogs of any size for benchmarks and load tests.
+ * Value distributions follow the bundled {@code restaurants.csv}: ratings 1-5, distances 1-10
+ * miles, prices 10-50 in steps of 5, the 19 bundled cuisines, and names built from a small
+ * vocabulary so that name filters hit realistic shares of the catalog.
+ */
+public final class SyntheticCatalog {
+
+    private static final String[] CUISINES = {
+            "American", "Chinese", "Thai", "Italian", "French", "Japanese", "Turkish", "Korean", "Vietnamese",
+            "Indian", "Spanish", "Greek", "Mexican", "Malaysian", "African", "German", "Indonesian", "Russian", "Other"
+    };
+    private static final String[] PREFIXES = {
+            "Deli", "Cuts", "Fine", "Local", "Wish", "Grill", "Golden", "Happy", "Urban", "Sizzle", "Tasty", "Royal"
+    };
+    private static final String[] SUFFIXES = {
+            "Delicious", "Chow", "Bistro", "Kitchen", "House", "Garden", "Table", "Spoon", "genix", "zilla", "Eats"
+    };
+    private static final double CENTER_LATITUDE = 40.7580;
+    private static final double CENTER_LONGITUDE = -73.9855;
+    private static final double MILES_PER_DEGREE = 69.0;
+
+    private SyntheticCatalog() {
+    }
+
+    public static Map<Integer, String> cuisines() {
+        Map<Integer, String> cuisines = new HashMap<>();
+        for (int i = 0; i < CUISINES.length; i++) {
+            cuisines.put(i + 1, CUISINES[i]);
+        }
+        return cuisines;
+    }
+
+    public static List<Restaurant> restaurants(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Restaurant> restaurants = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            int distance = 1 + random.nextInt(10);
+            int cuisineId = 1 + random.nextInt(CUISINES.length);
+            double bearing = random.nextDouble(2 * Math.PI);
+            double latitude = CENTER_LATITUDE + distance * Math.cos(bearing) / MILES_PER_DEGREE;
+            double longitude = CENTER_LONGITUDE
+                    + distance * Math.sin(bearing) / (MILES_PER_DEGREE * Math.cos(Math.toRadians(CENTER_LATITUDE)));
+            restaurants.add(new Restaurant(
+                    id,
+                    PREFIXES[random.nextInt(PREFIXES.length)] + " " + SUFFIXES[random.nextInt(SUFFIXES.length)],
+                    1 + random.nextInt(5),
+                    distance,
+                    10 + 5 * random.nextInt(9),
+                    cuisineId,
+                    CUISINES[cuisineId - 1],
+                    latitude,
+                    longitude));
+        }
+        return restaurants;
+    }
+
+    /**
+     * Renders restaurants in the {@code restaurants.csv} layout, header included.
+     */
+    public static byte[] csv(List<Restaurant> restaurants) {
+        StringBuilder csv = new StringBuilder(restaurants.size() * 48)
+                .append("id,name,customer_rating,distance,price,cuisine_id,latitude,longitude\n");
+        for (Restaurant r : restaurants) {
+            csv.append(r.getId()).append(',')
+                    .append(r.getName()).append(',')
+                    .append(r.getRating()).append(',')
+                    .append(r.getDistance()).append(',')
+                    .append(r.getPrice()).append(',')
+                    .append(r.getCuisineId()).append(',')
+                    .append(Math.round(r.getLatitude() * 1e6) / 1e6).append(',')
+                    .append(Math.round(r.getLongitude() * 1e6) / 1e6).append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -1,6 +1,7 @@
 package org.galaxy.server.agent;
 
 import org.galaxy.server.agent.dto.*;
+import org.galaxy.server.agent.tools.CheckAvailabilityTool;
 import org.galaxy.server.agent.tools.RestaurantSearchTool;
 import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.ai.chat.model.ChatResponse;
@@ -18,17 +19,20 @@ public class AgentOrchestrator {
 
     private final ChatModel chatModel;
     private final RestaurantSearchTool restaurantSearchTool;
+    private final CheckAvailabilityTool checkAvailabilityTool;
     private final String defaultReservationName;
     private final ZoneId zoneId;
 
     public AgentOrchestrator(
             ChatModel chatModel,
             RestaurantSearchTool restaurantSearchTool,
+            CheckAvailabilityTool checkAvailabilityTool,
             @Value("${app.agent.default-name}") String defaultReservationName,
             @Value("${app.agent.timezone}") String timezone
     ) {
         this.chatModel = chatModel;
         this.restaurantSearchTool = restaurantSearchTool;
+        this.checkAvailabilityTool = checkAvailabilityTool;
         this.defaultReservationName = defaultReservationName;
         this.zoneId = ZoneId.of(timezone);
     }
@@ -52,6 +56,7 @@ public class AgentOrchestrator {
             return switch (intent) {
                 case SEARCH -> handleSearchIntent(message, safeContext);
                 case RESERVE -> handleReservationIntent(message, safeContext);
+                case AVAILABILITY -> handleAvailabilityIntent(message, safeContext);
             };
 
         } catch (IllegalArgumentException e) {
@@ -85,12 +90,13 @@ public class AgentOrchestrator {
             Determine whether the user wants to:
             - search for restaurants
             - make a reservation
+            - check whether a restaurant has a table free at a given time
 
             User input:
             %s
 
             Respond with exactly one word:
-            SEARCH or RESERVE
+            SEARCH, RESERVE or AVAILABILITY
             """, message);
 
         ChatResponse response = chatModel.call(
@@ -187,6 +193,25 @@ public class AgentOrchestrator {
         );
     }
 
+    private AgentChatResponse handleAvailabilityIntent(
+            String message,
+            ConversationContext context
+    ) {
+        String reply = checkAvailabilityTool.checkAvailability(message, context.lastRestaurantIds());
+
+        ConversationContext updatedContext = new ConversationContext(
+                AgentIntent.AVAILABILITY,
+                context.lastRestaurantIds(),
+                null
+        );
+
+        return new AgentChatResponse(
+                reply,
+                null,
+                updatedContext
+        );
+    }
+
     /* ============================
        Confirmation Handling
        ============================ */
@@ -5,5 +5,6 @@ package org.galaxy.server.agent.dto;
  */
 public enum AgentIntent {
     SEARCH,
-    RESERVE
+    RESERVE,
+    AVAILABILITY
 }
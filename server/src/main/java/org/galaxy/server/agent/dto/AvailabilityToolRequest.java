@@ -0,0 +1,13 @@
+package org.galaxy.server.agent.dto;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object representing a request to the availability tool.
+ */
+@Data
+public class AvailabilityToolRequest {
+    private String restaurantName;
+    private String startTime;
+    private Integer guestCount;
+}
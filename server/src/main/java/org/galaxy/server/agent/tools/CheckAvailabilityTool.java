@@ -1,7 +1,124 @@
 package org.galaxy.server.agent.tools;
 
+import org.galaxy.server.agent.dto.AvailabilityToolRequest;
+import org.galaxy.server.model.Availability;
+import org.galaxy.server.model.Restaurant;
+import org.galaxy.server.model.RestaurantSearchOptions;
+import org.galaxy.server.service.ReservationService;
+import org.galaxy.server.service.RestaurantService;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.converter.BeanOutputConverter;
+import org.springframework.ai.openai.OpenAiChatOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Objects;
+
 /**
- * Tool for checking the availability of a restaurant for a given time and guest count.
+ * Tool for checking the availability of a restaurant for a given time and guest count, using an
+ * AI model to parse the request. The restaurant is looked up by name, falling back to the first
+ * restaurant of the previous search.
  */
+@Component
 public class CheckAvailabilityTool {
+
+    private final ReservationService reservationService;
+    private final RestaurantService restaurantService;
+    private final ChatModel chatModel;
+    private final ZoneId zoneId;
+
+    public CheckAvailabilityTool(
+            ReservationService reservationService,
+            RestaurantService restaurantService,
+            ChatModel chatModel,
+            @Value("${app.agent.timezone}") String timezone
+    ) {
+        this.reservationService = reservationService;
+        this.restaurantService = restaurantService;
+        this.chatModel = chatModel;
+        this.zoneId = ZoneId.of(timezone);
+    }
+
+    public String checkAvailability(String message, List<Integer> lastRestaurantIds) {
+        AvailabilityToolRequest request = extractAvailabilityRequest(message);
+
+        Restaurant restaurant = findRestaurant(request.getRestaurantName(), lastRestaurantIds);
+        if (restaurant == null) {
+            return "Which restaurant would you like me to check?";
+        }
+        if (request.getStartTime() == null || request.getGuestCount() == null) {
+            return "For what time and how many guests should I check " + restaurant.getName() + "?";
+        }
+        LocalDateTime startTime;
+        try {
+            startTime = LocalDateTime.parse(request.getStartTime());
+        } catch (DateTimeParseException e) {
+            return "Sorry, I could not understand the time. Please try again.";
+        }
+
+        return format(restaurant.getName(), check(restaurant.getId(), startTime, request.getGuestCount()));
+    }
+
+    /**
+     * Checks a reservation of the default length starting at {@code startTime}.
+     */
+    public Availability check(Integer restaurantId, LocalDateTime startTime, Integer guestCount) {
+        return reservationService.checkAvailability(restaurantId, startTime, null, guestCount);
+    }
+
+    public String format(String restaurantName, Availability availability) {
+        if (availability.available()) {
+            return String.format("%s has room for %d guests at %s (%d seats left).",
+                    restaurantName, availability.guestCount(), availability.startTime(),
+                    availability.seatsLeft());
+        }
+        return String.format("Sorry, %s cannot seat %d guests at %s; only %d seats are left.",
+                restaurantName, availability.guestCount(), availability.startTime(),
+                availability.seatsLeft());
+    }
+
+    private Restaurant findRestaurant(String name, List<Integer> lastRestaurantIds) {
+        if (name != null) {
+            RestaurantSearchOptions options = RestaurantSearchOptions.builder().name(name).limit(1).build();
+            List<Restaurant> restaurants = restaurantService.advancedSearch(options);
+            if (restaurants.isEmpty()) {
+                restaurants = restaurantService.advancedSearch(options.toBuilder()
+                        .fuzzy(RestaurantSearchOptions.MAX_FUZZY_EDITS)
+                        .build());
+            }
+            return restaurants.isEmpty() ? null : restaurants.get(0);
+        }
+        if (lastRestaurantIds == null || lastRestaurantIds.isEmpty()) {
+            return null;
+        }
+        return restaurantService.findById(lastRestaurantIds.get(0));
+    }
+
+    private AvailabilityToolRequest extractAvailabilityRequest(String message) {
+        var outputConverter = new BeanOutputConverter<>(AvailabilityToolRequest.class);
+
+        String format = outputConverter.getFormat();
+        String systemPrompt = String.format("""
+                Extract the restaurant availability check from the user message.
+                startTime is an ISO-8601 local date-time such as 2030-05-01T19:00:00.
+                The current date and time is %s.
+                If a parameter is not mentioned, leave it null.
+                
+                %s
+                
+                User message: %s
+                """, LocalDateTime.now(zoneId).withNano(0), format, message);
+
+        var response = chatModel.call(new Prompt(systemPrompt,
+                OpenAiChatOptions.builder()
+                        .model("gpt-4o")
+                        .build()));
+
+        return outputConverter.convert(Objects.requireNonNull(response.getResult().getOutput().getText()));
+    }
 }
@@ -43,6 +43,12 @@ public class RestaurantSearchTool {
                 .build();
 
         List<Restaurant> restaurants = restaurantService.advancedSearch(options);
+        if (restaurants.isEmpty() && options.getName() != null) {
+            // The name may be misspelled; retry typo-tolerant here instead of another model round trip
+            restaurants = restaurantService.advancedSearch(options.toBuilder()
+                    .fuzzy(RestaurantSearchOptions.MAX_FUZZY_EDITS)
+                    .build());
+        }
 
         List<Integer> ids = restaurants.stream()
                 .map(Restaurant::getId)
@@ -0,0 +1,162 @@
+package org.galaxy.server.config;
+
+import org.galaxy.server.model.Restaurant;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Versioned binary image of the parsed restaurant catalog.
+ * The file stores the numeric columns as int and double arrays (NaN marking a missing coordinate)
+ * and the strings length-prefixed, with cuisine names dictionary-encoded, behind a header holding
+ * a format version and a fingerprint of the CSV sources. Reading memory-maps the file, so startup
+ * skips CSV parsing entirely whenever the fingerprint still matches.
+ * <p>
+ * Only the parsed rows are stored. {@link #read} hands back a {@code List<Restaurant>} and
+ * {@code DataLoader} still builds the {@code RestaurantIndex} from it, so the bitmaps, name
+ * indexes, k-d tree and sort permutations are recomputed on every start.
+ */
+public final class CatalogSnapshotFile {
+
+    private static final int MAGIC = 0x52534E50; // "RSNP"
+    private static final int FORMAT_VERSION = 2;
+
+    private CatalogSnapshotFile() {
+    }
+
+    /**
+     * Writes the snapshot to a temporary file and atomically moves it into place,
+     * so a crash mid-write never leaves a truncated snapshot behind.
+     */
+    public static void write(Path path, String sourceFingerprint, List<Restaurant> restaurants) throws IOException {
+        Map<String, Integer> cuisineCodes = new HashMap<>();
+        List<String> cuisines = new ArrayList<>();
+        for (Restaurant restaurant : restaurants) {
+            if (!cuisineCodes.containsKey(restaurant.getCuisine())) {
+                cuisineCodes.put(restaurant.getCuisine(), cuisines.size());
+                cuisines.add(restaurant.getCuisine());
+            }
+        }
+
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            writeTo(temp, sourceFingerprint, restaurants, cuisines, cuisineCodes);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void writeTo(Path file, String sourceFingerprint, List<Restaurant> restaurants,
+                                List<String> cuisines, Map<String, Integer> cuisineCodes) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            writeString(out, sourceFingerprint);
+
+            out.writeInt(cuisines.size());
+            for (String cuisine : cuisines) {
+                writeString(out, cuisine);
+            }
+
+            out.writeInt(restaurants.size());
+            for (Restaurant r : restaurants) out.writeInt(r.getId());
+            for (Restaurant r : restaurants) out.writeInt(r.getRating());
+            for (Restaurant r : restaurants) out.writeInt(r.getDistance());
+            for (Restaurant r : restaurants) out.writeInt(r.getPrice());
+            for (Restaurant r : restaurants) out.writeInt(r.getCuisineId());
+            for (Restaurant r : restaurants) out.writeInt(cuisineCodes.get(r.getCuisine()));
+            for (Restaurant r : restaurants) out.writeDouble(r.getLatitude() == null ? Double.NaN : r.getLatitude());
+            for (Restaurant r : restaurants) out.writeDouble(r.getLongitude() == null ? Double.NaN : r.getLongitude());
+            for (Restaurant r : restaurants) writeString(out, r.getName());
+        }
+    }
+
+    /**
+     * Returns the restaurants stored in {@code path}, or empty when the file is missing, was written
+     * by another format version, does not match {@code sourceFingerprint}, or is corrupt.
+     */
+    public static Optional<List<Restaurant>> read(Path path, String sourceFingerprint) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                return Optional.empty();
+            }
+            if (!sourceFingerprint.equals(readString(buffer))) {
+                return Optional.empty();
+            }
+
+            String[] cuisines = new String[buffer.getInt()];
+            for (int i = 0; i < cuisines.length; i++) {
+                cuisines[i] = readString(buffer);
+            }
+
+            int size = buffer.getInt();
+            int[] ids = readInts(buffer, size);
+            int[] ratings = readInts(buffer, size);
+            int[] distances = readInts(buffer, size);
+            int[] prices = readInts(buffer, size);
+            int[] cuisineIds = readInts(buffer, size);
+            int[] cuisineCodes = readInts(buffer, size);
+            double[] latitudes = readDoubles(buffer, size);
+            double[] longitudes = readDoubles(buffer, size);
+
+            List<Restaurant> restaurants = new ArrayList<>(size);
+            for (int row = 0; row < size; row++) {
+                restaurants.add(new Restaurant(ids[row], readString(buffer), ratings[row], distances[row],
+                        prices[row], cuisineIds[row], cuisines[cuisineCodes[row]],
+                        Double.isNaN(latitudes[row]) ? null : latitudes[row],
+                        Double.isNaN(longitudes[row]) ? null : longitudes[row]));
+            }
+            return Optional.of(restaurants);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static int[] readInts(MappedByteBuffer buffer, int size) {
+        int[] values = new int[size];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + size * Integer.BYTES);
+        return values;
+    }
+
+    private static double[] readDoubles(MappedByteBuffer buffer, int size) {
+        double[] values = new double[size];
+        buffer.asDoubleBuffer().get(values);
+        buffer.position(buffer.position() + size * Double.BYTES);
+        return values;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(MappedByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
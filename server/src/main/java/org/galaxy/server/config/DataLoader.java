@@ -1,60 +1,178 @@
 package org.galaxy.server.config;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.Getter;
+import org.galaxy.server.index.RestaurantIndex;
 import org.galaxy.server.model.Reservation;
 import org.galaxy.server.model.Restaurant;
-import org.galaxy.server.repository.ReservationRepository;
+import org.galaxy.server.model.ReservationImportResult;
+import org.galaxy.server.service.ReservationImportService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.Random;
 import java.util.ArrayList;
+import java.util.Random;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Component responsible for loading initial restaurant and cuisine data from CSV files.
+ * Each load produces a fully indexed, immutable {@link RestaurantIndex} snapshot that is
+ * published with a single volatile write, so searches never observe a partially loaded catalog
+ * and keep using the snapshot they started with while a reload runs in the background.
  */
 @Component
 public class DataLoader {
     @Autowired
-    private ReservationRepository reservationRepository;
+    private ReservationImportService reservationImportService;
 
     private final String RESTAURANT_FILE_PATH = "restaurants.csv";
     private final String CUISINE_FILE_PATH = "cuisines.csv";
     private final Random random = new Random();
+    private final AtomicLong versions = new AtomicLong();
+    private final ExecutorService reloadExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-reload");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Optional file system overrides for the bundled CSVs, used by reloads to pick up new data.
+    @Value("${app.catalog.restaurants-file:}")
+    private String restaurantsFile;
 
+    @Value("${app.catalog.cuisines-file:}")
+    private String cuisinesFile;
+
+    // Binary image of the parsed catalog reused across restarts; blank disables it.
+    @Value("${app.catalog.snapshot-file:}")
+    private String snapshotFile;
 
     @Getter
-    private List<Restaurant> restaurants = new ArrayList<>();
+    private volatile RestaurantIndex index = RestaurantIndex.build(List.of());
 
     @PostConstruct
     public void loadData() {
         System.out.println("Starting data load...");
         try {
-            Map<Integer, String> cuisineMap = loadCuisines();
-            loadRestaurants(cuisineMap);
+            index = loadSnapshot();
 //            generateReservations();
-            System.out.println("Data load complete. Total restaurants: " + restaurants.size());
+            System.out.println("Data load complete. Total restaurants: " + index.size());
         } catch (IOException e) {
             throw new RuntimeException("Failed to load restaurant data", e);
         }
     }
 
+    /**
+     * Parses the CSVs again on a background thread and atomically publishes the new snapshot.
+     * Reloads run one at a time; if one fails the current snapshot stays in place.
+     */
+    public CompletableFuture<RestaurantIndex> reload() {
+        return CompletableFuture.supplyAsync(() -> {
+            System.out.println("Reloading catalog...");
+            try {
+                RestaurantIndex snapshot = loadSnapshot();
+                index = snapshot;
+                System.out.println("Catalog reload complete. Version " + snapshot.version()
+                        + ", total restaurants: " + snapshot.size());
+                return snapshot;
+            } catch (IOException e) {
+                System.err.println("Catalog reload failed, keeping version " + index.version() + ": " + e.getMessage());
+                throw new UncheckedIOException(e);
+            }
+        }, reloadExecutor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reloadExecutor.shutdownNow();
+    }
+
+    public List<Restaurant> getRestaurants() {
+        return index.restaurants();
+    }
+
+    private RestaurantIndex loadSnapshot() throws IOException {
+        List<Restaurant> restaurants = snapshotFile == null || snapshotFile.isBlank()
+                ? loadRestaurants(loadCuisines())
+                : loadThroughSnapshotFile(Path.of(snapshotFile));
+        return RestaurantIndex.build(restaurants, versions.incrementAndGet());
+    }
+
+    /**
+     * Memory-maps the binary snapshot when it was written from the current CSVs, otherwise parses
+     * the CSVs and rewrites the snapshot for the next start. A snapshot that cannot be written is
+     * only reported, since the catalog itself loaded fine.
+     */
+    private List<Restaurant> loadThroughSnapshotFile(Path path) throws IOException {
+        String fingerprint = sourceFingerprint();
+        long startNanos = System.nanoTime();
+        Optional<List<Restaurant>> cached = CatalogSnapshotFile.read(path, fingerprint);
+        if (cached.isPresent()) {
+            System.out.printf("Loaded %d restaurants from snapshot %s in %.1f ms.%n",
+                    cached.get().size(), path, (System.nanoTime() - startNanos) / 1_000_000.0);
+            return cached.get();
+        }
+
+        System.out.println("Snapshot " + path + " is missing or stale, parsing CSV.");
+        List<Restaurant> restaurants = loadRestaurants(loadCuisines());
+        try {
+            CatalogSnapshotFile.write(path, fingerprint, restaurants);
+        } catch (IOException e) {
+            System.err.println("Could not write catalog snapshot " + path + ": " + e.getMessage());
+        }
+        return restaurants;
+    }
+
+    /**
+     * Identifies the CSV sources by size and modification time, which is enough to notice
+     * an edited or replaced file without reading it.
+     */
+    private String sourceFingerprint() throws IOException {
+        Resource restaurantsResource = resource(restaurantsFile, RESTAURANT_FILE_PATH);
+        Resource cuisinesResource = resource(cuisinesFile, CUISINE_FILE_PATH);
+        return restaurantsResource.getDescription()
+                + ":" + restaurantsResource.contentLength()
+                + ":" + restaurantsResource.lastModified()
+                + "|" + cuisinesResource.getDescription()
+                + ":" + cuisinesResource.contentLength()
+                + ":" + cuisinesResource.lastModified();
+    }
+
+    private Resource resource(String overridePath, String classpathName) {
+        if (overridePath != null && !overridePath.isBlank()) {
+            return new FileSystemResource(overridePath);
+        }
+        return new ClassPathResource(classpathName);
+    }
+
+    private InputStream open(String overridePath, String classpathName) throws IOException {
+        return resource(overridePath, classpathName).getInputStream();
+    }
+
     private Map<Integer, String> loadCuisines() throws IOException {
         System.out.println("Loading cuisines...");
         Map<Integer, String> map = new HashMap<>();
-        ClassPathResource resource = new ClassPathResource(CUISINE_FILE_PATH);
 
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream()))) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(open(cuisinesFile, CUISINE_FILE_PATH)))) {
             String line = reader.readLine(); // skip header
             while ((line = reader.readLine()) != null) {
                 if (line.trim().isEmpty()) continue; // skip empty lines
@@ -72,54 +190,28 @@ public class DataLoader {
         return map;
     }
 
-    private void loadRestaurants(Map<Integer, String> cuisineMap) throws IOException {
+    private List<Restaurant> loadRestaurants(Map<Integer, String> cuisineMap) throws IOException {
         System.out.println("Loading restaurants...");
-        ClassPathResource resource = new ClassPathResource(RESTAURANT_FILE_PATH);
-
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream()))) {
-            String line = reader.readLine(); // skip header
+        long startNanos = System.nanoTime();
 
-            while ((line = reader.readLine()) != null) {
-                if (line.trim().isEmpty()) continue; // skip empty lines
-
-                String[] parts = line.split(",");
-
-                if (parts.length >= 6) {
-                    try {
-                        Restaurant restaurant = new Restaurant();
-
-                        // Parse columns based on your CSV order:
-                        // id, name, customer_rating, distance, price, cuisine_id
-                        restaurant.setId(Integer.parseInt(parts[0].trim()));
-                        restaurant.setName(parts[1].trim());
-                        restaurant.setRating(Integer.parseInt(parts[2].trim()));
-                        restaurant.setDistance(Integer.parseInt(parts[3].trim()));
-                        restaurant.setPrice(Integer.parseInt(parts[4].trim()));
-
-                        int cuisineId = Integer.parseInt(parts[5].trim());
-                        restaurant.setCuisineId(cuisineId);
-
-                        // Map the ID to the actual name string
-                        String cuisineName = cuisineMap.getOrDefault(cuisineId, "Unknown");
-                        restaurant.setCuisine(cuisineName);
-
-                        restaurants.add(restaurant);
-                    } catch (NumberFormatException e) {
-                        System.err.println("Skipping invalid number format in line: " + line);
-                    }
-                } else {
-                    System.err.println("Skipping malformed line (not enough columns): " + line);
-                }
-            }
+        RestaurantCsvParser.Result result;
+        try (InputStream input = open(restaurantsFile, RESTAURANT_FILE_PATH)) {
+            result = RestaurantCsvParser.parse(input, cuisineMap);
         }
-        System.out.println("Loaded " + restaurants.size() + " restaurants.");
+
+        double seconds = Math.max(System.nanoTime() - startNanos, 1) / 1_000_000_000.0;
+        System.out.printf("Loaded %d restaurants (%d lines skipped) in %.1f ms, %.0f rows/s.%n",
+                result.restaurants().size(), result.skippedLines(), seconds * 1000,
+                result.restaurants().size() / seconds);
+        return result.restaurants();
     }
 
     private void generateReservations() {
         System.out.println("Generating mock reservations...");
         int daysToGenerate = 30;
+        List<Reservation> reservations = new ArrayList<>();
 
-        for (Restaurant restaurant : restaurants) {
+        for (Restaurant restaurant : getRestaurants()) {
             for (int dayOffset = 0; dayOffset < daysToGenerate; dayOffset++) {
                 LocalDateTime date = LocalDateTime.now().plusDays(dayOffset).withHour(10).withMinute(0);
                 int reservationsPerDay = random.nextInt(3); // 0-10
@@ -143,11 +235,13 @@ public class DataLoader {
                     reservation.setStartTime(startDateTime);
                     reservation.setEndTime(endDateTime);
 
-                    reservationRepository.save(reservation);
+                    reservations.add(reservation);
                 }
             }
         }
 
-        System.out.println("Mock reservations generated.");
+        ReservationImportResult result = reservationImportService.importReservations(reservations.iterator());
+        System.out.printf("Generated %d mock reservations in %d ms, %.0f rows/s.%n",
+                result.imported(), result.elapsedMillis(), result.rowsPerSecond());
     }
 }
\ No newline at end of file
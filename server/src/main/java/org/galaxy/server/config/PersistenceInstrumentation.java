@@ -0,0 +1,143 @@
+package org.galaxy.server.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.galaxy.server.service.PersistenceMetrics;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+
+/**
+ * Wraps the {@link DataSource} and every Spring Data repository in timing proxies that report to
+ * {@link PersistenceMetrics}. Connections handed out by the data source are wrapped in turn, and
+ * so are the statements they create, so every {@code execute*} call is timed under the SQL it
+ * runs. Nothing is wrapped when {@code app.persistence.metrics.enabled} is false.
+ */
+@Component
+public class PersistenceInstrumentation implements BeanPostProcessor {
+
+    private final boolean enabled;
+    // Looked up lazily so creating this post-processor does not pull the metrics bean in early
+    private final ObjectProvider<PersistenceMetrics> metricsProvider;
+    private volatile PersistenceMetrics metrics;
+
+    public PersistenceInstrumentation(
+            @Value("${app.persistence.metrics.enabled:true}") boolean enabled,
+            ObjectProvider<PersistenceMetrics> metricsProvider
+    ) {
+        this.enabled = enabled;
+        this.metricsProvider = metricsProvider;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!enabled) {
+            return bean;
+        }
+        if (bean instanceof DataSource dataSource) {
+            ProxyFactory factory = new ProxyFactory(dataSource);
+            // Keep the concrete pool type visible to anything that injects it by class
+            factory.setProxyTargetClass(!Modifier.isFinal(dataSource.getClass().getModifiers()));
+            factory.addAdvice((MethodInterceptor) invocation -> {
+                Object result = invocation.proceed();
+                return result instanceof Connection connection ? wrap(connection, Connection.class, null) : result;
+            });
+            return factory.getProxy();
+        }
+        if (bean instanceof Repository<?, ?> repository) {
+            String name = repositoryName(repository);
+            ProxyFactory factory = new ProxyFactory(repository);
+            factory.addAdvice((MethodInterceptor) invocation -> {
+                long start = System.nanoTime();
+                try {
+                    return invocation.proceed();
+                } finally {
+                    metrics().recordRepositoryCall(name + "." + invocation.getMethod().getName(),
+                            System.nanoTime() - start);
+                }
+            });
+            return factory.getProxy();
+        }
+        return bean;
+    }
+
+    /**
+     * Resolves the metrics bean on the first recorded call and keeps it, so the hot path is a
+     * field read rather than a bean factory lookup. A race only resolves the same singleton twice.
+     */
+    private PersistenceMetrics metrics() {
+        PersistenceMetrics resolved = metrics;
+        if (resolved == null) {
+            resolved = metricsProvider.getObject();
+            metrics = resolved;
+        }
+        return resolved;
+    }
+
+    private static String repositoryName(Repository<?, ?> repository) {
+        for (Class<?> type : repository.getClass().getInterfaces()) {
+            if (Repository.class.isAssignableFrom(type) && !type.getName().startsWith("org.springframework.")) {
+                return type.getSimpleName();
+            }
+        }
+        return repository.getClass().getSimpleName();
+    }
+
+    /**
+     * Proxies a connection or statement. Statements created by a wrapped connection are wrapped
+     * with the SQL they were prepared with, which is what their parameterless executes run.
+     */
+    private <T> T wrap(T target, Class<T> type, String preparedSql) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+                return proxy == args[0];
+            }
+            boolean execute = target instanceof Statement && method.getName().startsWith("execute");
+            long start = execute ? System.nanoTime() : 0;
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                if (execute) {
+                    metrics().recordStatement(sqlOf(method, args, preparedSql), System.nanoTime() - start);
+                }
+            }
+            if (result instanceof Statement statement && method.getReturnType().isInterface()
+                    && Statement.class.isAssignableFrom(method.getReturnType())) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                return wrapStatement(statement, method.getReturnType(), sql);
+            }
+            return result;
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Statement> T wrapStatement(Statement statement, Class<?> type, String sql) {
+        return wrap((T) statement, (Class<T>) type, sql);
+    }
+
+    private static String sqlOf(Method method, Object[] args, String preparedSql) {
+        if (args != null && args.length > 0 && args[0] instanceof String sql) {
+            return sql;
+        }
+        if (preparedSql != null) {
+            return preparedSql;
+        }
+        // Plain statements batching their own SQL strings
+        return "(batch) " + method.getName();
+    }
+}
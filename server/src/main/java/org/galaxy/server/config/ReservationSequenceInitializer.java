@@ -0,0 +1,36 @@
+package org.galaxy.server.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves {@code reservations_seq} past the highest reservation id at startup. Databases created
+ * before reservation ids came from the sequence hold identity-assigned ids from 1 upward, while
+ * {@code ddl-auto=update} creates the sequence starting at 1, so new inserts would collide with
+ * existing rows. Runs before anything writes reservations (see {@code AvailabilityService}).
+ */
+@Component
+public class ReservationSequenceInitializer {
+
+    // Must match allocationSize on Reservation.id
+    static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Taking the EntityManagerFactory makes sure the schema, and so the sequence, exists first
+    public ReservationSequenceInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void alignSequence() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM reservations", Long.class);
+        // Hibernate's pooled optimizer hands out the block ending at the value it fetches,
+        // so the first id is that value minus ALLOCATION_SIZE - 1
+        long restart = (maxId == null ? 0 : maxId) + ALLOCATION_SIZE;
+        jdbcTemplate.execute("ALTER SEQUENCE reservations_seq RESTART WITH " + restart);
+        System.out.println("Reservation id sequence restarted at " + restart + " (highest id " + maxId + ").");
+    }
+}
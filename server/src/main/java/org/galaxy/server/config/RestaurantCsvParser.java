@@ -0,0 +1,287 @@
+package org.galaxy.server.config;
+
+import org.galaxy.server.model.Restaurant;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+/**
+ * Parses {@code restaurants.csv} content in parallel.
+ * The raw bytes are split into byte ranges that end on line boundaries, each range is parsed
+ * on its own fork-join task, and numeric columns are decoded straight from the bytes without
+ * creating intermediate strings. Only the name column is materialized as a {@link String}.
+ * The optional trailing latitude and longitude columns are read when present.
+ * <p>
+ * A stream is consumed in blocks of {@link #BLOCK_BYTES} cut after their last newline, and the
+ * next block is read while the previous one is parsed, so the whole file is never held in memory.
+ */
+public final class RestaurantCsvParser {
+
+    /**
+     * Outcome of a parse: the restaurants in file order plus the number of rejected lines.
+     */
+    public record Result(List<Restaurant> restaurants, int skippedLines) {}
+
+    private record ChunkResult(List<Restaurant> restaurants, int skippedLines) {}
+
+    private static final int COLUMN_COUNT = 6;
+    private static final int MAX_COLUMN_COUNT = 8;
+    private static final int MIN_CHUNK_BYTES = 64 * 1024;
+    private static final int BLOCK_BYTES = 16 * 1024 * 1024;
+    private static final int INVALID = Integer.MIN_VALUE;
+
+    private RestaurantCsvParser() {
+    }
+
+    public static Result parse(byte[] data, Map<Integer, String> cuisineMap) {
+        int start = skipLine(data, 0, data.length); // skip header
+        List<ChunkResult> chunks = parseBlock(data, start, data.length, cuisineMap);
+        int total = chunks.stream().mapToInt(chunk -> chunk.restaurants().size()).sum();
+        List<Restaurant> restaurants = new ArrayList<>(total);
+        int skipped = collect(chunks, restaurants);
+        return new Result(restaurants, skipped);
+    }
+
+    public static Result parse(InputStream input, Map<Integer, String> cuisineMap) throws IOException {
+        return parse(input, cuisineMap, BLOCK_BYTES);
+    }
+
+    static Result parse(InputStream input, Map<Integer, String> cuisineMap, int blockBytes) throws IOException {
+        List<Restaurant> restaurants = new ArrayList<>();
+        int skipped = 0;
+        CompletableFuture<List<ChunkResult>> parsing = null;
+        byte[] block = new byte[blockBytes];
+        int filled = 0;
+        boolean header = true;
+        boolean eof = false;
+        while (!eof) {
+            filled += input.readNBytes(block, filled, block.length - filled);
+            eof = filled < block.length;
+            int end = eof ? filled : lastLineEnd(block, filled);
+            if (end == 0 && !eof) {
+                block = Arrays.copyOf(block, block.length * 2); // a single line longer than the block
+                continue;
+            }
+
+            byte[] data = block;
+            int from = header ? skipLine(data, 0, end) : 0;
+            int to = end;
+            header = false;
+            // Carry the trailing partial line over into a fresh block
+            block = new byte[Math.max(blockBytes, filled - end)];
+            System.arraycopy(data, end, block, 0, filled - end);
+            filled -= end;
+
+            if (parsing != null) {
+                skipped += collect(parsing.join(), restaurants);
+            }
+            parsing = CompletableFuture.supplyAsync(() -> parseBlock(data, from, to, cuisineMap));
+        }
+        skipped += collect(parsing.join(), restaurants);
+        return new Result(restaurants, skipped);
+    }
+
+    /**
+     * Parses the lines in {@code data[start, end)} on parallel tasks, returning the chunk results in file order.
+     */
+    private static List<ChunkResult> parseBlock(byte[] data, int start, int end, Map<Integer, String> cuisineMap) {
+        int chunkCount = Math.max(1, Math.min(
+                Runtime.getRuntime().availableProcessors() * 4,
+                (end - start) / MIN_CHUNK_BYTES));
+        int[] bounds = chunkBounds(data, start, end, chunkCount);
+
+        return IntStream.range(0, bounds.length - 1)
+                .parallel()
+                .mapToObj(i -> parseChunk(data, bounds[i], bounds[i + 1], cuisineMap))
+                .toList();
+    }
+
+    private static int collect(List<ChunkResult> chunks, List<Restaurant> restaurants) {
+        int skipped = 0;
+        for (ChunkResult chunk : chunks) {
+            restaurants.addAll(chunk.restaurants());
+            skipped += chunk.skippedLines();
+        }
+        return skipped;
+    }
+
+    /**
+     * Splits {@code [start, end)} into roughly equal ranges, moving every cut forward to
+     * just after the next newline so that no line straddles two chunks.
+     */
+    private static int[] chunkBounds(byte[] data, int start, int end, int chunkCount) {
+        int[] bounds = new int[chunkCount + 1];
+        bounds[0] = start;
+        long span = end - start;
+        for (int i = 1; i < chunkCount; i++) {
+            int cut = (int) (start + span * i / chunkCount);
+            bounds[i] = Math.max(bounds[i - 1], skipLine(data, cut, end));
+        }
+        bounds[chunkCount] = end;
+        return bounds;
+    }
+
+    private static int skipLine(byte[] data, int pos, int end) {
+        while (pos < end && data[pos] != '\n') pos++;
+        return Math.min(pos + 1, end);
+    }
+
+    /**
+     * Returns the position just after the last newline in {@code data[0, end)}, or 0 when there is none.
+     */
+    private static int lastLineEnd(byte[] data, int end) {
+        int pos = end;
+        while (pos > 0 && data[pos - 1] != '\n') pos--;
+        return pos;
+    }
+
+    private static ChunkResult parseChunk(byte[] data, int from, int to, Map<Integer, String> cuisineMap) {
+        List<Restaurant> restaurants = new ArrayList<>((to - from) / 32);
+        int[] fieldStart = new int[MAX_COLUMN_COUNT];
+        int[] fieldEnd = new int[MAX_COLUMN_COUNT];
+        int skipped = 0;
+
+        int lineStart = from;
+        while (lineStart < to) {
+            int lineEnd = lineStart;
+            while (lineEnd < to && data[lineEnd] != '\n') lineEnd++;
+            int next = lineEnd + 1;
+            if (lineEnd > lineStart && data[lineEnd - 1] == '\r') lineEnd--;
+
+            if (!isBlank(data, lineStart, lineEnd)) { // skip empty lines
+                Restaurant restaurant = parseLine(data, lineStart, lineEnd, fieldStart, fieldEnd, cuisineMap);
+                if (restaurant != null) {
+                    restaurants.add(restaurant);
+                } else {
+                    skipped++;
+                }
+            }
+            lineStart = next;
+        }
+        return new ChunkResult(restaurants, skipped);
+    }
+
+    private static Restaurant parseLine(byte[] data, int from, int to, int[] fieldStart, int[] fieldEnd,
+                                        Map<Integer, String> cuisineMap) {
+        int field = 0;
+        fieldStart[0] = from;
+        for (int pos = from; pos < to && field < MAX_COLUMN_COUNT; pos++) {
+            if (data[pos] == ',') {
+                fieldEnd[field++] = pos;
+                if (field < MAX_COLUMN_COUNT) fieldStart[field] = pos + 1;
+            }
+        }
+        if (field < MAX_COLUMN_COUNT) {
+            fieldEnd[field++] = to;
+        }
+        if (field < COLUMN_COUNT) {
+            System.err.println("Skipping malformed line (not enough columns): " + text(data, from, to));
+            return null;
+        }
+
+        // Parse columns based on the CSV order:
+        // id, name, customer_rating, distance, price, cuisine_id[, latitude, longitude]
+        int id = parseInt(data, fieldStart[0], fieldEnd[0]);
+        int rating = parseInt(data, fieldStart[2], fieldEnd[2]);
+        int distance = parseInt(data, fieldStart[3], fieldEnd[3]);
+        int price = parseInt(data, fieldStart[4], fieldEnd[4]);
+        int cuisineId = parseInt(data, fieldStart[5], fieldEnd[5]);
+        if (id == INVALID || rating == INVALID || distance == INVALID || price == INVALID || cuisineId == INVALID) {
+            System.err.println("Skipping invalid number format in line: " + text(data, from, to));
+            return null;
+        }
+
+        Double latitude = null;
+        Double longitude = null;
+        if (field == MAX_COLUMN_COUNT) {
+            double lat = parseDecimal(data, fieldStart[6], fieldEnd[6]);
+            double lon = parseDecimal(data, fieldStart[7], fieldEnd[7]);
+            if (!Double.isNaN(lat) && !Double.isNaN(lon)) {
+                latitude = lat;
+                longitude = lon;
+            }
+        }
+
+        String name = text(data, fieldStart[1], fieldEnd[1]).trim();
+        // Map the ID to the actual name string
+        String cuisineName = cuisineMap.getOrDefault(cuisineId, "Unknown");
+        return new Restaurant(id, name, rating, distance, price, cuisineId, cuisineName, latitude, longitude);
+    }
+
+    /**
+     * Decodes a trimmed, optionally signed decimal integer from {@code data[from, to)},
+     * returning {@link #INVALID} instead of throwing when the field is not a number.
+     */
+    private static int parseInt(byte[] data, int from, int to) {
+        while (from < to && isSpace(data[from])) from++;
+        while (to > from && isSpace(data[to - 1])) to--;
+        if (from == to) return INVALID;
+
+        boolean negative = data[from] == '-';
+        if (negative || data[from] == '+') from++;
+        if (from == to) return INVALID;
+
+        long value = 0;
+        for (int pos = from; pos < to; pos++) {
+            int digit = data[pos] - '0';
+            if (digit < 0 || digit > 9) return INVALID;
+            value = value * 10 + digit;
+            if (value > Integer.MAX_VALUE) return INVALID;
+        }
+        return (int) (negative ? -value : value);
+    }
+
+    /**
+     * Decodes a trimmed, optionally signed plain decimal such as {@code -73.985513},
+     * returning NaN when the field is empty or not a number.
+     */
+    private static double parseDecimal(byte[] data, int from, int to) {
+        while (from < to && isSpace(data[from])) from++;
+        while (to > from && isSpace(data[to - 1])) to--;
+        if (from == to) return Double.NaN;
+
+        boolean negative = data[from] == '-';
+        if (negative || data[from] == '+') from++;
+
+        long mantissa = 0;
+        int digits = 0;
+        int scale = -1;
+        for (int pos = from; pos < to; pos++) {
+            byte b = data[pos];
+            if (b == '.' && scale < 0) {
+                scale = 0;
+                continue;
+            }
+            int digit = b - '0';
+            if (digit < 0 || digit > 9 || ++digits > 18) return Double.NaN;
+            mantissa = mantissa * 10 + digit;
+            if (scale >= 0) scale++;
+        }
+        if (digits == 0) return Double.NaN;
+
+        double value = scale > 0 ? mantissa / Math.pow(10, scale) : mantissa;
+        return negative ? -value : value;
+    }
+
+    private static boolean isBlank(byte[] data, int from, int to) {
+        for (int pos = from; pos < to; pos++) {
+            if (!isSpace(data[pos])) return false;
+        }
+        return true;
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    private static String text(byte[] data, int from, int to) {
+        return new String(data, from, to - from, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,46 @@
+package org.galaxy.server.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.galaxy.server.service.PersistenceMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements each request executes, keyed by method and mapped path pattern
+ * (e.g. {@code GET /reservations/restaurant/{restaurantId}}), so per-endpoint statement counts
+ * and N+1 patterns show up in {@link PersistenceMetrics}. Only statements run on the request
+ * thread are counted.
+ */
+@Component
+public class StatementCountFilter extends OncePerRequestFilter {
+
+    private final PersistenceMetrics persistenceMetrics;
+
+    public StatementCountFilter(PersistenceMetrics persistenceMetrics) {
+        this.persistenceMetrics = persistenceMetrics;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !persistenceMetrics.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        persistenceMetrics.beginRequest();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            // Unmapped paths share one key so arbitrary URLs cannot grow the endpoint table
+            persistenceMetrics.endRequest(request.getMethod() + " " + (pattern == null ? "(unmapped)" : pattern));
+        }
+    }
+}
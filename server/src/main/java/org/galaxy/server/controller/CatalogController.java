@@ -0,0 +1,56 @@
+package org.galaxy.server.controller;
+
+import org.galaxy.server.config.DataLoader;
+import org.galaxy.server.index.RestaurantIndex;
+import org.galaxy.server.model.CatalogStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * REST controller for inspecting and reloading the in-memory restaurant catalog.
+ */
+@RestController
+@RequestMapping("/catalog")
+@CrossOrigin(origins = "http://localhost:5173")
+public class CatalogController {
+
+    private final DataLoader dataLoader;
+
+    public CatalogController(DataLoader dataLoader) {
+        this.dataLoader = dataLoader;
+    }
+
+    @GetMapping
+    public ResponseEntity<CatalogStatus> getStatus() {
+        return ResponseEntity.ok(toStatus(dataLoader.getIndex()));
+    }
+
+    /**
+     * Starts a background reload; searches keep using the current snapshot until the new one is published.
+     * With {@code wait=true} the call blocks until the new snapshot is live and returns its status.
+     */
+    @PostMapping("/reload")
+    public ResponseEntity<CatalogStatus> reload(@RequestParam(defaultValue = "false") boolean wait) {
+        CompletableFuture<RestaurantIndex> reload = dataLoader.reload();
+        if (!wait) {
+            return ResponseEntity.accepted().body(toStatus(dataLoader.getIndex()));
+        }
+        try {
+            return ResponseEntity.ok(toStatus(reload.join()));
+        } catch (CompletionException e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    private static CatalogStatus toStatus(RestaurantIndex index) {
+        return new CatalogStatus(index.version(), index.size());
+    }
+}
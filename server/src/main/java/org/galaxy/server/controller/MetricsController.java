@@ -0,0 +1,31 @@
+package org.galaxy.server.controller;
+
+import org.galaxy.server.service.PersistenceMetrics;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller exposing runtime metrics for monitoring.
+ */
+@RestController
+@RequestMapping("/metrics")
+@CrossOrigin(origins = "http://localhost:5173")
+public class MetricsController {
+
+    private final PersistenceMetrics persistenceMetrics;
+
+    public MetricsController(PersistenceMetrics persistenceMetrics) {
+        this.persistenceMetrics = persistenceMetrics;
+    }
+
+    /**
+     * Statement and repository latencies, statements per request and suspected N+1 patterns since startup.
+     */
+    @GetMapping("/persistence")
+    public ResponseEntity<PersistenceMetrics.Stats> getPersistenceMetrics() {
+        return ResponseEntity.ok(persistenceMetrics.stats());
+    }
+}
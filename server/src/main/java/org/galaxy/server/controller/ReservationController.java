@@ -1,10 +1,21 @@
 package org.galaxy.server.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.galaxy.server.model.Availability;
 import org.galaxy.server.model.Reservation;
+import org.galaxy.server.model.ReservationCursor;
+import org.galaxy.server.model.ReservationImportResult;
+import org.galaxy.server.service.ReservationConflictException;
+import org.galaxy.server.service.JournalUnavailableException;
+import org.galaxy.server.service.ReservationImportService;
 import org.galaxy.server.service.ReservationService;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -13,22 +24,49 @@ import java.util.List;
  */
 @RestController
 @RequestMapping("/reservations")
-@CrossOrigin(origins = "http://localhost:5173")
+@CrossOrigin(origins = "http://localhost:5173", exposedHeaders = ReservationController.NEXT_CURSOR_HEADER)
 public class ReservationController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final ReservationService reservationService;
+    private final ReservationImportService reservationImportService;
+    private final ObjectMapper objectMapper;
 
-    public ReservationController(ReservationService reservationService) {
+    public ReservationController(ReservationService reservationService,
+                                 ReservationImportService reservationImportService,
+                                 ObjectMapper objectMapper) {
         this.reservationService = reservationService;
+        this.reservationImportService = reservationImportService;
+        this.objectMapper = objectMapper;
     }
 
+    /**
+     * Lists a restaurant's reservations, optionally those starting between {@code start} and {@code end}.
+     * With {@code limit} or {@code cursor} the list is paged in start time order: a full page carries
+     * the cursor for the next one in the {@value #NEXT_CURSOR_HEADER} header.
+     */
     @GetMapping("/restaurant/{restaurantId}")
     public ResponseEntity<List<Reservation>> getReservations(
             @PathVariable Integer restaurantId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor
             ){
         try{
+            if(limit != null || cursor != null){
+                ReservationCursor after = cursor == null ? null : ReservationCursor.parse(cursor);
+                List<Reservation> page = reservationService.getReservationsPage(restaurantId, start, end, after, limit);
+                int pageSize = limit == null ? ReservationService.DEFAULT_PAGE_SIZE : limit;
+                if(page.size() < pageSize){
+                    return ResponseEntity.ok(page);
+                }
+                return ResponseEntity.ok()
+                        .header(NEXT_CURSOR_HEADER, ReservationCursor.of(page.get(page.size() - 1)).encode())
+                        .body(page);
+            }
+
             List<Reservation> reservations;
             if(start == null || end == null){
                 reservations = reservationService.getReservationsByRestaurantId(restaurantId);
@@ -41,13 +79,53 @@ public class ReservationController {
         }
     }
 
+    /**
+     * Checks whether the restaurant can seat {@code guests} more guests from {@code start} until
+     * {@code end}, or for the default reservation length when no end is given.
+     */
+    @GetMapping("/restaurant/{restaurantId}/availability")
+    public ResponseEntity<Availability> getAvailability(
+            @PathVariable Integer restaurantId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam Integer guests
+            ){
+        try{
+            return ResponseEntity.ok(reservationService.checkAvailability(restaurantId, start, end, guests));
+        }catch(Exception e){
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PostMapping
     public ResponseEntity<Reservation> createReservation(
         @RequestBody Reservation reservation
     ){
         try{
             Reservation saved = reservationService.createReservation(reservation);
+            if(reservationService.isJournaled()){
+                // Durable in the journal but not yet in the database
+                return ResponseEntity.accepted().body(saved);
+            }
             return ResponseEntity.ok(saved);
+        }catch(ReservationConflictException e){
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }catch(JournalUnavailableException e){
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }catch(Exception e){
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Imports reservations from a JSON array or newline-delimited JSON, parsed one reservation at
+     * a time as the body arrives, and reports how many rows were saved and at what rate.
+     * Ids in the body are ignored and capacity is not checked.
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ReservationImportResult> importReservations(InputStream body){
+        try(MappingIterator<Reservation> reservations = objectMapper.readerFor(Reservation.class).readValues(body)){
+            return ResponseEntity.ok(reservationImportService.importReservations(reservations));
         }catch(Exception e){
             return ResponseEntity.badRequest().build();
         }
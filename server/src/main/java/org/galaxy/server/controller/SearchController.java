@@ -1,29 +1,56 @@
 package org.galaxy.server.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.galaxy.server.index.SearchPlan;
 import org.galaxy.server.model.Restaurant;
 import org.galaxy.server.model.RestaurantSearchOptions;
+import org.galaxy.server.model.SearchCursor;
+import org.galaxy.server.model.SearchFacets;
+import org.galaxy.server.model.SortMode;
 import org.galaxy.server.service.RestaurantService;
+import org.galaxy.server.service.SearchResultCache;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * REST controller for restaurant search operations.
  */
 @RestController
 @RequestMapping("/search")
-@CrossOrigin(origins = "http://localhost:5173")
+@CrossOrigin(origins = "http://localhost:5173", exposedHeaders = SearchController.NEXT_CURSOR_HEADER)
 public class SearchController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final int MAX_BATCH_SIZE = 100;
+
+    private static final byte[] NEWLINE = "\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SSE_DATA = "data: ".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SSE_END = "\n\n".getBytes(StandardCharsets.UTF_8);
+    private static final int STREAM_FLUSH_INTERVAL = 64;
+
     private final RestaurantService restaurantService;
+    private final ObjectMapper objectMapper;
 
-    public SearchController(RestaurantService restaurantService) {
+    public SearchController(RestaurantService restaurantService, ObjectMapper objectMapper) {
         this.restaurantService = restaurantService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping("/advanced")
@@ -33,21 +60,209 @@ public class SearchController {
             @RequestParam(required = false) Integer distance,
             @RequestParam(required = false) Integer price,
             @RequestParam(required = false) String cuisine,
-            @RequestParam(required = false) Integer limit)
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude,
+            @RequestParam(required = false) Double radius,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer fuzzy)
     {
         try{
-            RestaurantSearchOptions inputOptions = RestaurantSearchOptions.builder()
-                    .name(name)
-                    .rating(rating)
-                    .distance(distance)
-                    .price(price)
-                    .cuisine(cuisine)
-                    .limit(limit)
-                    .build();
+            RestaurantSearchOptions inputOptions = toOptions(name, rating, distance, price, cuisine, limit, cursor,
+                    latitude, longitude, radius, sort, fuzzy);
             List<Restaurant> results = restaurantService.advancedSearch(inputOptions);
-            return ResponseEntity.ok(results);
+            // A short page is the last one, and location searches rank by computed distance,
+            // which the keyset cursor cannot resume from
+            int pageSize = inputOptions.normalized().getLimit();
+            if (results.isEmpty() || results.size() < pageSize || inputOptions.hasLocation()) {
+                return ResponseEntity.ok(results);
+            }
+            // Keyset cursor for the next page; clients pass it back as ?cursor=
+            SearchCursor next = SearchCursor.of(results.get(results.size() - 1));
+            return ResponseEntity.ok()
+                    .header(NEXT_CURSOR_HEADER, next.encode())
+                    .body(results);
+        }catch(Exception e){
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Advanced search restricted to restaurants that can seat {@code guests} from {@code start}
+     * to {@code end} (or for the default reservation length), e.g. "a table for 4 at 19:00
+     * within 5 miles", answered in one call. Accepts the same filters, sorting and cursor as
+     * {@code /advanced}.
+     */
+    @GetMapping("/available")
+    public ResponseEntity<List<Restaurant>> getAvailableSearch(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam Integer guests,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) Integer rating,
+            @RequestParam(required = false) Integer distance,
+            @RequestParam(required = false) Integer price,
+            @RequestParam(required = false) String cuisine,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude,
+            @RequestParam(required = false) Double radius,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer fuzzy)
+    {
+        try{
+            RestaurantSearchOptions inputOptions = toOptions(name, rating, distance, price, cuisine, limit, cursor,
+                    latitude, longitude, radius, sort, fuzzy);
+            List<Restaurant> results = restaurantService.searchAvailable(inputOptions, start, end, guests);
+            int pageSize = inputOptions.normalized().getLimit();
+            if (results.isEmpty() || results.size() < pageSize || inputOptions.hasLocation()) {
+                return ResponseEntity.ok(results);
+            }
+            SearchCursor next = SearchCursor.of(results.get(results.size() - 1));
+            return ResponseEntity.ok()
+                    .header(NEXT_CURSOR_HEADER, next.encode())
+                    .body(results);
         }catch(Exception e){
             return ResponseEntity.badRequest().build();
         }
     }
+
+    /**
+     * Streams the results of an advanced search in ranked order as they are produced, one JSON
+     * object per line (NDJSON) or, when the client accepts {@code text/event-stream}, as
+     * server-sent events. The first result is flushed immediately, the rest in small batches.
+     */
+    @GetMapping("/advanced/stream")
+    public ResponseEntity<StreamingResponseBody> streamAdvancedSearch(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) Integer rating,
+            @RequestParam(required = false) Integer distance,
+            @RequestParam(required = false) Integer price,
+            @RequestParam(required = false) String cuisine,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude,
+            @RequestParam(required = false) Double radius,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer fuzzy,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept)
+    {
+        try{
+            RestaurantSearchOptions inputOptions = toOptions(name, rating, distance, price, cuisine, limit, cursor,
+                    latitude, longitude, radius, sort, fuzzy);
+            Stream<Restaurant> results = restaurantService.streamSearch(inputOptions);
+            boolean sse = accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+
+            StreamingResponseBody body = out -> {
+                int written = 0;
+                for (Iterator<Restaurant> it = results.iterator(); it.hasNext(); ) {
+                    if (sse) out.write(SSE_DATA);
+                    out.write(objectMapper.writeValueAsBytes(it.next()));
+                    out.write(sse ? SSE_END : NEWLINE);
+                    if (++written == 1 || written % STREAM_FLUSH_INTERVAL == 0) {
+                        out.flush();
+                    }
+                }
+                out.flush();
+            };
+            return ResponseEntity.ok()
+                    .contentType(sse ? MediaType.TEXT_EVENT_STREAM : MediaType.APPLICATION_NDJSON)
+                    .body(body);
+        }catch(Exception e){
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Returns per-cuisine, per-price-band and per-rating counts for the same parameters as
+     * {@link #getAdvancedSearch}, together with its results.
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<SearchFacets> getFacets(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) Integer rating,
+            @RequestParam(required = false) Integer distance,
+            @RequestParam(required = false) Integer price,
+            @RequestParam(required = false) String cuisine,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude,
+            @RequestParam(required = false) Double radius,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer fuzzy)
+    {
+        try{
+            RestaurantSearchOptions inputOptions = toOptions(name, rating, distance, price, cuisine, limit, cursor,
+                    latitude, longitude, radius, sort, fuzzy);
+            return ResponseEntity.ok(restaurantService.facets(inputOptions));
+        }catch(Exception e){
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Runs up to {@link #MAX_BATCH_SIZE} searches in one request and returns each one's
+     * results in request order.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<List<Restaurant>>> batchSearch(@RequestBody List<RestaurantSearchOptions> batch) {
+        try{
+            if (batch.size() > MAX_BATCH_SIZE) {
+                return ResponseEntity.badRequest().build();
+            }
+            return ResponseEntity.ok(restaurantService.batchSearch(batch));
+        }catch(Exception e){
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Debugging endpoint that shows the filter plan chosen for the given search parameters.
+     */
+    @GetMapping("/plan")
+    public ResponseEntity<List<SearchPlan.Step>> getSearchPlan(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) Integer rating,
+            @RequestParam(required = false) Integer distance,
+            @RequestParam(required = false) Integer price,
+            @RequestParam(required = false) String cuisine)
+    {
+        try{
+            RestaurantSearchOptions inputOptions = toOptions(name, rating, distance, price, cuisine, null, null,
+                    null, null, null, null, null);
+            return ResponseEntity.ok(restaurantService.explain(inputOptions));
+        }catch(Exception e){
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<SearchResultCache.Stats> getCacheStats() {
+        return ResponseEntity.ok(restaurantService.cacheStats());
+    }
+
+    private static RestaurantSearchOptions toOptions(
+            String name, Integer rating, Integer distance, Integer price,
+            String cuisine, Integer limit, String cursor,
+            Double latitude, Double longitude, Double radius, String sort, Integer fuzzy)
+    {
+        return RestaurantSearchOptions.builder()
+                .name(name)
+                .rating(rating)
+                .distance(distance)
+                .price(price)
+                .cuisine(cuisine)
+                .limit(limit)
+                .cursor(cursor == null ? null : SearchCursor.parse(cursor))
+                .latitude(latitude)
+                .longitude(longitude)
+                .radius(radius)
+                .sort(SortMode.fromParam(sort))
+                .fuzzy(fuzzy)
+                .build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,115 @@
+package org.galaxy.server.index;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntPredicate;
+
+/**
+ * Per-value bitmap index over a single int column.
+ * Each distinct value owns a bitmap of the rows holding it, so equality and range
+ * filters become unions of precomputed bitmaps and multi-filter queries become
+ * a bitwise AND instead of a scan over every row. The per-value row counts double
+ * as a column histogram used to estimate filter selectivity.
+ */
+public final class BitmapIndex {
+
+    private final int rowCount;
+    private final int[] values;
+    private final BitSet[] bitmaps;
+    private final int[] cumulativeCounts;
+
+    private BitmapIndex(int rowCount, int[] values, BitSet[] bitmaps) {
+        this.rowCount = rowCount;
+        this.values = values;
+        this.bitmaps = bitmaps;
+        this.cumulativeCounts = new int[values.length + 1];
+        for (int i = 0; i < values.length; i++) {
+            cumulativeCounts[i + 1] = cumulativeCounts[i] + bitmaps[i].cardinality();
+        }
+    }
+
+    public static BitmapIndex build(int[] column) {
+        int[] values = Arrays.stream(column).distinct().sorted().toArray();
+        BitSet[] bitmaps = new BitSet[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bitmaps[i] = new BitSet(column.length);
+        }
+        for (int row = 0; row < column.length; row++) {
+            bitmaps[Arrays.binarySearch(values, column[row])].set(row);
+        }
+        return new BitmapIndex(column.length, values, bitmaps);
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Smallest value in the column; the column must not be empty.
+     */
+    public int minValue() {
+        return values[0];
+    }
+
+    /**
+     * Largest value in the column; the column must not be empty.
+     */
+    public int maxValue() {
+        return values[values.length - 1];
+    }
+
+    /**
+     * Returns a new bitmap of the rows whose value lies in {@code [min, max]}.
+     */
+    public BitSet range(int min, int max) {
+        BitSet result = new BitSet(rowCount);
+        for (int i = lowerBound(min); i < values.length && values[i] <= max; i++) {
+            result.or(bitmaps[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new bitmap of the rows whose value satisfies {@code predicate}.
+     */
+    public BitSet matching(IntPredicate predicate) {
+        BitSet result = new BitSet(rowCount);
+        for (int i = 0; i < values.length; i++) {
+            if (predicate.test(values[i])) {
+                result.or(bitmaps[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of rows whose value lies in {@code [min, max]} without materializing a bitmap.
+     */
+    public int count(int min, int max) {
+        if (min > max) return 0;
+        return cumulativeCounts[upperBound(max)] - cumulativeCounts[lowerBound(min)];
+    }
+
+    /**
+     * Returns the number of rows whose value satisfies {@code predicate}.
+     */
+    public int count(IntPredicate predicate) {
+        int count = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (predicate.test(values[i])) {
+                count += cumulativeCounts[i + 1] - cumulativeCounts[i];
+            }
+        }
+        return count;
+    }
+
+    private int upperBound(int value) {
+        int pos = Arrays.binarySearch(values, value);
+        return pos >= 0 ? pos + 1 : -pos - 1;
+    }
+
+    private int lowerBound(int value) {
+        int pos = Arrays.binarySearch(values, value);
+        return pos >= 0 ? pos : -pos - 1;
+    }
+}
@@ -0,0 +1,103 @@
+package org.galaxy.server.index;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.function.IntConsumer;
+
+/**
+ * Burkhard-Keller tree over a fixed list of words under Levenshtein distance.
+ * Each child edge is labelled with its distance to the parent word, and by the triangle
+ * inequality a word within {@code k} edits of a query can only sit below edges labelled
+ * {@code d - k .. d + k}, where {@code d} is the query's distance to the parent. A search
+ * therefore compares the query against a small fraction of the words.
+ */
+public final class BkTree {
+
+    private static final int NONE = -1;
+
+    private final String[] words;
+    private final int[] firstChild;
+    private final int[] nextSibling;
+    private final int[] edgeDistance;
+
+    private BkTree(String[] words) {
+        this.words = words;
+        this.firstChild = new int[words.length];
+        this.nextSibling = new int[words.length];
+        this.edgeDistance = new int[words.length];
+        Arrays.fill(firstChild, NONE);
+        Arrays.fill(nextSibling, NONE);
+        for (int word = 1; word < words.length; word++) {
+            insert(word);
+        }
+    }
+
+    /**
+     * Builds a tree over {@code words}; a word's position in the array is its id in search results.
+     */
+    public static BkTree build(String[] words) {
+        return new BkTree(words);
+    }
+
+    /**
+     * Reports the id of every word within {@code maxEdits} of {@code query}.
+     */
+    public void search(String query, int maxEdits, IntConsumer matches) {
+        if (words.length == 0) return;
+        Deque<Integer> pending = new ArrayDeque<>();
+        pending.push(0);
+        while (!pending.isEmpty()) {
+            int node = pending.pop();
+            int distance = distance(query, words[node]);
+            if (distance <= maxEdits) {
+                matches.accept(node);
+            }
+            for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                if (Math.abs(edgeDistance[child] - distance) <= maxEdits) {
+                    pending.push(child);
+                }
+            }
+        }
+    }
+
+    private void insert(int word) {
+        int node = 0;
+        while (true) {
+            int distance = distance(words[word], words[node]);
+            int child = firstChild[node];
+            while (child != NONE && edgeDistance[child] != distance) {
+                child = nextSibling[child];
+            }
+            if (child == NONE) {
+                edgeDistance[word] = distance;
+                nextSibling[word] = firstChild[node];
+                firstChild[node] = word;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Levenshtein distance between two strings, using two rolling rows.
+     */
+    public static int distance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) previous[j] = j;
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (ca == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
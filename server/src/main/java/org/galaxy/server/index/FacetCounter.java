@@ -0,0 +1,70 @@
+package org.galaxy.server.index;
+
+import org.galaxy.server.model.Restaurant;
+import org.galaxy.server.model.SearchFacets;
+
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Computes cuisine, price band and rating histograms over a set of matching rows.
+ * All three are filled in a single pass over the rows using dense count arrays sized
+ * from the index's column statistics, so no map lookups or boxing happen per row.
+ */
+public final class FacetCounter {
+
+    public static final int PRICE_BAND_WIDTH = 10;
+
+    private FacetCounter() {
+    }
+
+    public static SearchFacets count(RestaurantIndex index, BitSet rows, List<Restaurant> results) {
+        if (rows.isEmpty()) {
+            return new SearchFacets(0, Map.of(), Map.of(), Map.of(), results);
+        }
+
+        int minRating = index.ratingBitmaps().minValue();
+        int minBand = Math.floorDiv(index.priceBitmaps().minValue(), PRICE_BAND_WIDTH);
+        int[] cuisineCounts = new int[index.cuisineDictionarySize()];
+        int[] ratingCounts = new int[index.ratingBitmaps().maxValue() - minRating + 1];
+        int[] bandCounts = new int[Math.floorDiv(index.priceBitmaps().maxValue(), PRICE_BAND_WIDTH) - minBand + 1];
+
+        int total = 0;
+        for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+            cuisineCounts[index.cuisineCode(row)]++;
+            ratingCounts[index.rating(row) - minRating]++;
+            bandCounts[Math.floorDiv(index.price(row), PRICE_BAND_WIDTH) - minBand]++;
+            total++;
+        }
+
+        // Cuisines most common first, bands and ratings in ascending order
+        Map<String, Integer> cuisines = new LinkedHashMap<>();
+        IntStream.range(0, cuisineCounts.length)
+                .filter(code -> cuisineCounts[code] > 0)
+                .boxed()
+                .sorted(Comparator.<Integer>comparingInt(code -> -cuisineCounts[code])
+                        .thenComparingInt(code -> code))
+                .forEach(code -> cuisines.put(index.cuisineLabel(code), cuisineCounts[code]));
+
+        Map<String, Integer> priceBands = new LinkedHashMap<>();
+        for (int i = 0; i < bandCounts.length; i++) {
+            if (bandCounts[i] > 0) {
+                int from = (minBand + i) * PRICE_BAND_WIDTH;
+                priceBands.put(from + "-" + (from + PRICE_BAND_WIDTH - 1), bandCounts[i]);
+            }
+        }
+
+        Map<Integer, Integer> ratings = new LinkedHashMap<>();
+        for (int i = 0; i < ratingCounts.length; i++) {
+            if (ratingCounts[i] > 0) {
+                ratings.put(minRating + i, ratingCounts[i]);
+            }
+        }
+
+        return new SearchFacets(total, cuisines, priceBands, ratings, results);
+    }
+}
@@ -0,0 +1,76 @@
+package org.galaxy.server.index;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typo-tolerant lookup of restaurant names by word.
+ * Every distinct word of the normalized names is stored once in a {@link BkTree} together with
+ * the rows containing it, so a misspelled query word is resolved to nearby dictionary words
+ * and then to rows without comparing the query against every name.
+ */
+public final class FuzzyNameIndex {
+
+    private final int rowCount;
+    private final BkTree words;
+    private final int[][] postings;
+
+    private FuzzyNameIndex(int rowCount, BkTree words, int[][] postings) {
+        this.rowCount = rowCount;
+        this.words = words;
+        this.postings = postings;
+    }
+
+    public static FuzzyNameIndex build(String[] normalizedNames) {
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> dictionary = new ArrayList<>();
+        List<List<Integer>> rows = new ArrayList<>();
+        for (int row = 0; row < normalizedNames.length; row++) {
+            for (String word : words(normalizedNames[row])) {
+                Integer id = ids.get(word);
+                if (id == null) {
+                    id = dictionary.size();
+                    ids.put(word, id);
+                    dictionary.add(word);
+                    rows.add(new ArrayList<>());
+                }
+                List<Integer> posting = rows.get(id);
+                if (posting.isEmpty() || posting.get(posting.size() - 1) != row) {
+                    posting.add(row);
+                }
+            }
+        }
+
+        int[][] postings = new int[rows.size()][];
+        for (int id = 0; id < postings.length; id++) {
+            postings[id] = rows.get(id).stream().mapToInt(Integer::intValue).toArray();
+        }
+        return new FuzzyNameIndex(normalizedNames.length, BkTree.build(dictionary.toArray(new String[0])), postings);
+    }
+
+    /**
+     * Returns the rows whose name has a word within {@code maxEdits} of {@code normalizedWord}.
+     */
+    public BitSet rowsWithWordNear(String normalizedWord, int maxEdits) {
+        BitSet rows = new BitSet(rowCount);
+        words.search(normalizedWord, maxEdits, id -> {
+            for (int row : postings[id]) rows.set(row);
+        });
+        return rows;
+    }
+
+    public int dictionarySize() {
+        return postings.length;
+    }
+
+    /**
+     * Splits a normalized name or query into its words.
+     */
+    public static String[] words(String normalized) {
+        String trimmed = normalized.trim();
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("\\s+");
+    }
+}
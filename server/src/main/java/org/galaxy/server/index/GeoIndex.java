@@ -0,0 +1,268 @@
+package org.galaxy.server.index;
+
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * Static k-d tree over restaurant coordinates answering nearest-K queries within a radius.
+ * Points are stored as unit vectors on the sphere: the straight-line (chord) distance between
+ * two vectors orders points exactly like great-circle distance, and the distance to a splitting
+ * plane is a true lower bound on it, so whole subtrees can be skipped without computing the
+ * distance to every restaurant.
+ */
+public final class GeoIndex {
+
+    public static final double EARTH_RADIUS_MILES = 3958.8;
+
+    /**
+     * A row found by a nearest query together with its great-circle distance in miles.
+     */
+    public record Hit(int row, double miles) {}
+
+    private final int[] nodes;
+    private final byte[] axes;
+    private final double[][] coordinates;
+
+    private GeoIndex(int[] nodes, byte[] axes, double[][] coordinates) {
+        this.nodes = nodes;
+        this.axes = axes;
+        this.coordinates = coordinates;
+    }
+
+    /**
+     * Builds the tree from per-row coordinates in degrees; rows with a NaN coordinate are left out.
+     */
+    public static GeoIndex build(double[] latitudes, double[] longitudes) {
+        double[][] coordinates = new double[3][latitudes.length];
+        int count = 0;
+        for (int row = 0; row < latitudes.length; row++) {
+            if (!Double.isNaN(latitudes[row]) && !Double.isNaN(longitudes[row])) {
+                toUnitVector(latitudes[row], longitudes[row], coordinates, row);
+                count++;
+            }
+        }
+
+        int[] nodes = new int[count];
+        int n = 0;
+        for (int row = 0; row < latitudes.length; row++) {
+            if (!Double.isNaN(latitudes[row]) && !Double.isNaN(longitudes[row])) {
+                nodes[n++] = row;
+            }
+        }
+
+        GeoIndex index = new GeoIndex(nodes, new byte[count], coordinates);
+        index.build(0, count);
+        return index;
+    }
+
+    public int size() {
+        return nodes.length;
+    }
+
+    /**
+     * Returns up to {@code k} rows accepted by {@code filter} within {@code radiusMiles} of the
+     * given point, nearest first. Ties are broken by row so results are deterministic.
+     */
+    public List<Hit> nearest(double latitude, double longitude, double radiusMiles, int k, IntPredicate filter) {
+        if (k <= 0 || nodes.length == 0) {
+            return List.of();
+        }
+        double[][] target = new double[3][1];
+        toUnitVector(latitude, longitude, target, 0);
+        double[] query = {target[0][0], target[1][0], target[2][0]};
+
+        double radiusChord = radiusMiles >= Math.PI * EARTH_RADIUS_MILES
+                ? 2.0
+                : 2 * Math.sin(radiusMiles / (2 * EARTH_RADIUS_MILES));
+        NearestHeap heap = new NearestHeap(Math.min(k, nodes.length));
+        search(0, nodes.length, query, radiusChord * radiusChord, filter, heap);
+
+        // Draining the max-heap yields the farthest hit first, so fill the result back to front.
+        Hit[] hits = new Hit[heap.size];
+        while (heap.size > 0) {
+            double chord = Math.sqrt(heap.distances[0]);
+            hits[heap.size - 1] = new Hit(heap.rows[0], 2 * Math.asin(Math.min(1.0, chord / 2)) * EARTH_RADIUS_MILES);
+            heap.removeTop();
+        }
+        return List.of(hits);
+    }
+
+    /**
+     * Great-circle distance between two points in degrees, in miles.
+     */
+    public static double distanceMiles(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_MILES * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private void search(int lo, int hi, double[] query, double radiusSquared, IntPredicate filter, NearestHeap heap) {
+        if (lo >= hi) return;
+        int mid = (lo + hi) >>> 1;
+        int row = nodes[mid];
+
+        double dx = query[0] - coordinates[0][row];
+        double dy = query[1] - coordinates[1][row];
+        double dz = query[2] - coordinates[2][row];
+        double distance = dx * dx + dy * dy + dz * dz;
+        // Filters may be costly (e.g. availability), so only run them for rows that would be kept
+        if (distance <= radiusSquared && heap.wouldAccept(row, distance) && filter.test(row)) {
+            heap.offer(row, distance);
+        }
+
+        int axis = axes[mid];
+        double diff = query[axis] - coordinates[axis][row];
+        boolean leftFirst = diff < 0;
+        search(leftFirst ? lo : mid + 1, leftFirst ? mid : hi, query, radiusSquared, filter, heap);
+
+        double bound = heap.isFull() ? Math.min(radiusSquared, heap.distances[0]) : radiusSquared;
+        if (diff * diff <= bound) {
+            search(leftFirst ? mid + 1 : lo, leftFirst ? hi : mid, query, radiusSquared, filter, heap);
+        }
+    }
+
+    private void build(int lo, int hi) {
+        if (hi - lo <= 1) return;
+        int axis = widestAxis(lo, hi);
+        int mid = (lo + hi) >>> 1;
+        select(lo, hi - 1, mid, coordinates[axis]);
+        axes[mid] = (byte) axis;
+        build(lo, mid);
+        build(mid + 1, hi);
+    }
+
+    private int widestAxis(int lo, int hi) {
+        int best = 0;
+        double bestSpread = -1;
+        for (int axis = 0; axis < 3; axis++) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = lo; i < hi; i++) {
+                double value = coordinates[axis][nodes[i]];
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            if (max - min > bestSpread) {
+                bestSpread = max - min;
+                best = axis;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Quickselect: rearranges {@code nodes[left..right]} so that position {@code k} holds the node
+     * that would be there if the range were sorted by {@code key}, with smaller keys before it.
+     */
+    private void select(int left, int right, int k, double[] key) {
+        while (right > left) {
+            double pivot = key[nodes[(left + right) >>> 1]];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (key[nodes[i]] < pivot) i++;
+                while (key[nodes[j]] > pivot) j--;
+                if (i <= j) {
+                    int tmp = nodes[i];
+                    nodes[i] = nodes[j];
+                    nodes[j] = tmp;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static void toUnitVector(double latitude, double longitude, double[][] target, int index) {
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+        target[0][index] = Math.cos(lat) * Math.cos(lon);
+        target[1][index] = Math.cos(lat) * Math.sin(lon);
+        target[2][index] = Math.sin(lat);
+    }
+
+    /**
+     * Fixed-size max-heap on squared chord distance, keeping the k nearest rows seen so far.
+     */
+    private static final class NearestHeap {
+        private final int[] rows;
+        private final double[] distances;
+        private int size;
+
+        NearestHeap(int capacity) {
+            rows = new int[capacity];
+            distances = new double[capacity];
+        }
+
+        boolean isFull() {
+            return size == rows.length;
+        }
+
+        boolean wouldAccept(int row, double distance) {
+            return size < rows.length || worse(rows[0], distances[0], row, distance);
+        }
+
+        void offer(int row, double distance) {
+            if (size < rows.length) {
+                rows[size] = row;
+                distances[size] = distance;
+                siftUp(size++);
+            } else if (worse(rows[0], distances[0], row, distance)) {
+                rows[0] = row;
+                distances[0] = distance;
+                siftDown(0);
+            }
+        }
+
+        void removeTop() {
+            size--;
+            rows[0] = rows[size];
+            distances[0] = distances[size];
+            siftDown(0);
+        }
+
+        private static boolean worse(int rowA, double distanceA, int rowB, double distanceB) {
+            return distanceA > distanceB || (distanceA == distanceB && rowA > rowB);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!worse(rows[i], distances[i], rows[parent], distances[parent])) break;
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) break;
+                if (child + 1 < size && worse(rows[child + 1], distances[child + 1], rows[child], distances[child])) {
+                    child++;
+                }
+                if (!worse(rows[child], distances[child], rows[i], distances[i])) break;
+                swap(i, child);
+                i = child;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int row = rows[a];
+            rows[a] = rows[b];
+            rows[b] = row;
+            double distance = distances[a];
+            distances[a] = distances[b];
+            distances[b] = distance;
+        }
+    }
+}
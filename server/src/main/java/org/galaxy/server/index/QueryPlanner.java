@@ -0,0 +1,85 @@
+package org.galaxy.server.index;
+
+import org.galaxy.server.model.RestaurantSearchOptions;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Compiles {@link RestaurantSearchOptions} into a {@link SearchPlan} for a given index.
+ * Absent options produce no stage at all, and the remaining stages are ordered by the number
+ * of rows the column statistics predict they keep, so the cheapest narrowing runs first and
+ * the per-row name verification only sees what is left.
+ */
+public final class QueryPlanner {
+
+    private QueryPlanner() {
+    }
+
+    public static SearchPlan plan(RestaurantIndex index, RestaurantSearchOptions options) {
+        List<SearchPlan.Stage> stages = new ArrayList<>();
+
+        if (options.getRating() != null) {
+            int minRating = options.getRating();
+            BitmapIndex bitmaps = index.ratingBitmaps();
+            stages.add(new SearchPlan.Stage(
+                    "rating >= " + minRating,
+                    bitmaps.count(minRating, Integer.MAX_VALUE),
+                    rows -> rows.and(bitmaps.range(minRating, Integer.MAX_VALUE))
+            ));
+        }
+
+        if (options.getDistance() != null) {
+            int maxDistance = options.getDistance();
+            BitmapIndex bitmaps = index.distanceBitmaps();
+            stages.add(new SearchPlan.Stage(
+                    "distance <= " + maxDistance,
+                    bitmaps.count(Integer.MIN_VALUE, maxDistance),
+                    rows -> rows.and(bitmaps.range(Integer.MIN_VALUE, maxDistance))
+            ));
+        }
+
+        if (options.getPrice() != null) {
+            int maxPrice = options.getPrice();
+            BitmapIndex bitmaps = index.priceBitmaps();
+            stages.add(new SearchPlan.Stage(
+                    "price <= " + maxPrice,
+                    bitmaps.count(Integer.MIN_VALUE, maxPrice),
+                    rows -> rows.and(bitmaps.range(Integer.MIN_VALUE, maxPrice))
+            ));
+        }
+
+        if (options.getCuisine() != null) {
+            boolean[] matches = index.matchCuisineCodes(options.getCuisine());
+            BitmapIndex bitmaps = index.cuisineBitmaps();
+            stages.add(new SearchPlan.Stage(
+                    "cuisine contains '" + RestaurantIndex.normalize(options.getCuisine()) + "'",
+                    bitmaps.count(code -> matches[code]),
+                    rows -> rows.and(bitmaps.matching(code -> matches[code]))
+            ));
+        }
+
+        if (options.getName() != null && options.getFuzzy() != null && options.getFuzzy() > 0) {
+            String name = RestaurantIndex.normalize(options.getName());
+            int maxEdits = options.getFuzzy();
+            // Fuzzy matches cannot be estimated up front, so assume nothing is filtered out
+            stages.add(new SearchPlan.Stage(
+                    "name within " + maxEdits + " edits of '" + name + "'",
+                    index.size(),
+                    rows -> index.retainNameMatching(rows, name, maxEdits)
+            ));
+        } else if (options.getName() != null) {
+            String name = RestaurantIndex.normalize(options.getName());
+            stages.add(new SearchPlan.Stage(
+                    "name contains '" + name + "'",
+                    index.nameTrigrams().estimate(name),
+                    rows -> index.retainNameContaining(rows, name)
+            ));
+        }
+
+        // List.sort is stable, so equally selective stages keep their declaration order.
+        stages.sort(Comparator.comparingInt(SearchPlan.Stage::estimatedRows));
+        return new SearchPlan(index, stages);
+    }
+}
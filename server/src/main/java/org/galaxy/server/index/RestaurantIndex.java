@@ -0,0 +1,354 @@
+package org.galaxy.server.index;
+
+import org.galaxy.server.model.Restaurant;
+import org.galaxy.server.model.SearchCursor;
+import org.galaxy.server.model.SortMode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable, column-oriented view of the restaurant catalog.
+ * Numeric fields are stored in primitive arrays indexed by row, and the cuisine
+ * column is dictionary-encoded so that filters can run without unboxing or
+ * calling getters on every {@link Restaurant}. Bitmap indexes over rating,
+ * distance, price and cuisine turn those filters into bitmap operations. A
+ * trigram index narrows name substring queries to a few candidate rows. A
+ * BK-tree over name words resolves misspelled names. A k-d tree over the
+ * coordinates answers nearest-restaurant queries. For every {@link SortMode}
+ * the rows are presorted once into a permutation, so a top-K query can walk
+ * that order and stop after K matches instead of sorting.
+ */
+public final class RestaurantIndex {
+
+    private final long version;
+    private final Restaurant[] rows;
+    private final int[] ids;
+    private final int[] ratings;
+    private final int[] distances;
+    private final int[] prices;
+    private final int[] cuisineIds;
+    private final int[] cuisineCodes;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final String[] cuisineDictionary;
+    private final String[] cuisineLabels;
+    private final String[] normalizedNames;
+    private final BitmapIndex ratingBitmaps;
+    private final BitmapIndex distanceBitmaps;
+    private final BitmapIndex priceBitmaps;
+    private final BitmapIndex cuisineBitmaps;
+    private final TrigramIndex nameTrigrams;
+    private final FuzzyNameIndex fuzzyNames;
+    private final GeoIndex geoIndex;
+    private final int[][] sortOrders;
+
+    private RestaurantIndex(Restaurant[] rows, long version) {
+        int size = rows.length;
+        this.version = version;
+        this.rows = rows;
+        this.ids = new int[size];
+        this.ratings = new int[size];
+        this.distances = new int[size];
+        this.prices = new int[size];
+        this.cuisineIds = new int[size];
+        this.cuisineCodes = new int[size];
+        this.latitudes = new double[size];
+        this.longitudes = new double[size];
+        this.normalizedNames = new String[size];
+
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> labels = new ArrayList<>();
+        for (int row = 0; row < size; row++) {
+            Restaurant restaurant = rows[row];
+            ids[row] = restaurant.getId();
+            ratings[row] = restaurant.getRating();
+            distances[row] = restaurant.getDistance();
+            prices[row] = restaurant.getPrice();
+            cuisineIds[row] = restaurant.getCuisineId();
+            normalizedNames[row] = normalize(restaurant.getName());
+            latitudes[row] = restaurant.getLatitude() == null ? Double.NaN : restaurant.getLatitude();
+            longitudes[row] = restaurant.getLongitude() == null ? Double.NaN : restaurant.getLongitude();
+
+            String cuisine = normalize(restaurant.getCuisine());
+            Integer code = dictionary.get(cuisine);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.put(cuisine, code);
+                labels.add(restaurant.getCuisine());
+            }
+            cuisineCodes[row] = code;
+        }
+
+        this.cuisineDictionary = new String[dictionary.size()];
+        dictionary.forEach((value, code) -> cuisineDictionary[code] = value);
+        this.cuisineLabels = labels.toArray(new String[0]);
+
+        this.ratingBitmaps = BitmapIndex.build(ratings);
+        this.distanceBitmaps = BitmapIndex.build(distances);
+        this.priceBitmaps = BitmapIndex.build(prices);
+        this.cuisineBitmaps = BitmapIndex.build(cuisineCodes);
+        this.nameTrigrams = TrigramIndex.build(normalizedNames);
+        this.fuzzyNames = FuzzyNameIndex.build(normalizedNames);
+        this.geoIndex = GeoIndex.build(latitudes, longitudes);
+
+        this.sortOrders = new int[SortMode.values().length][];
+        for (SortMode mode : SortMode.values()) {
+            sortOrders[mode.ordinal()] = sortedRows(size, (row1, row2) -> compareRows(mode, row1, row2));
+        }
+    }
+
+    /**
+     * Returns the rows {@code 0..size-1} ordered by {@code comparator}, using a bottom-up merge
+     * sort over two int arrays so no row number is boxed.
+     */
+    static int[] sortedRows(int size, RowComparator comparator) {
+        int[] order = new int[size];
+        for (int row = 0; row < size; row++) {
+            order[row] = row;
+        }
+        int[] buffer = new int[size];
+        for (int width = 1; width < size; width *= 2) {
+            // A trailing run without a partner is copied over as is
+            for (int lo = 0; lo < size; lo += 2 * width) {
+                int mid = Math.min(lo + width, size);
+                int hi = Math.min(mid + width, size);
+                int i = lo;
+                int j = mid;
+                int k = lo;
+                while (i < mid && j < hi) {
+                    buffer[k++] = comparator.compare(order[j], order[i]) < 0 ? order[j++] : order[i++];
+                }
+                while (i < mid) {
+                    buffer[k++] = order[i++];
+                }
+                while (j < hi) {
+                    buffer[k++] = order[j++];
+                }
+            }
+            int[] merged = buffer;
+            buffer = order;
+            order = merged;
+        }
+        return order;
+    }
+
+    public static RestaurantIndex build(List<Restaurant> restaurants) {
+        return build(restaurants, 0);
+    }
+
+    /**
+     * Builds an index tagged with a dataset {@code version}, which changes whenever the
+     * catalog is reloaded so that derived data such as cached results can be invalidated.
+     */
+    public static RestaurantIndex build(List<Restaurant> restaurants, long version) {
+        return new RestaurantIndex(restaurants.toArray(new Restaurant[0]), version);
+    }
+
+    public static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return rows.length;
+    }
+
+    public List<Restaurant> restaurants() {
+        return Collections.unmodifiableList(Arrays.asList(rows));
+    }
+
+    public Restaurant row(int row) {
+        return rows[row];
+    }
+
+    public int id(int row) {
+        return ids[row];
+    }
+
+    public int rating(int row) {
+        return ratings[row];
+    }
+
+    public int distance(int row) {
+        return distances[row];
+    }
+
+    public int price(int row) {
+        return prices[row];
+    }
+
+    public int cuisineId(int row) {
+        return cuisineIds[row];
+    }
+
+    public int cuisineCode(int row) {
+        return cuisineCodes[row];
+    }
+
+    public String normalizedName(int row) {
+        return normalizedNames[row];
+    }
+
+    public double latitude(int row) {
+        return latitudes[row];
+    }
+
+    public double longitude(int row) {
+        return longitudes[row];
+    }
+
+    public int cuisineDictionarySize() {
+        return cuisineDictionary.length;
+    }
+
+    /**
+     * Display name of a cuisine code, as spelled by the first restaurant that used it.
+     */
+    public String cuisineLabel(int code) {
+        return cuisineLabels[code];
+    }
+
+    public BitSet allRows() {
+        BitSet rows = new BitSet(size());
+        rows.set(0, size());
+        return rows;
+    }
+
+    public BitmapIndex ratingBitmaps() {
+        return ratingBitmaps;
+    }
+
+    public BitmapIndex distanceBitmaps() {
+        return distanceBitmaps;
+    }
+
+    public BitmapIndex priceBitmaps() {
+        return priceBitmaps;
+    }
+
+    public BitmapIndex cuisineBitmaps() {
+        return cuisineBitmaps;
+    }
+
+    public TrigramIndex nameTrigrams() {
+        return nameTrigrams;
+    }
+
+    public FuzzyNameIndex fuzzyNames() {
+        return fuzzyNames;
+    }
+
+    public GeoIndex geoIndex() {
+        return geoIndex;
+    }
+
+    /**
+     * Narrows {@code rows} to those whose normalized name contains {@code normalizedQuery}.
+     * The trigram index prunes the set first, so only its candidates are verified.
+     */
+    public void retainNameContaining(BitSet rows, String normalizedQuery) {
+        BitSet trigramCandidates = nameTrigrams.candidates(normalizedQuery);
+        if (trigramCandidates != null) {
+            rows.and(trigramCandidates);
+        }
+        for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+            if (!normalizedNames[row].contains(normalizedQuery)) {
+                rows.clear(row);
+            }
+        }
+    }
+
+    /**
+     * Narrows {@code rows} to those whose name matches every word of {@code normalizedQuery},
+     * either as a substring or as a name word within {@code maxEdits} edits of it. Short words
+     * get fewer edits (none up to two characters, one up to five) so they do not match everything.
+     */
+    public void retainNameMatching(BitSet rows, String normalizedQuery, int maxEdits) {
+        for (String word : FuzzyNameIndex.words(normalizedQuery)) {
+            if (rows.isEmpty()) return;
+            BitSet matches = (BitSet) rows.clone();
+            retainNameContaining(matches, word);
+            int edits = Math.min(maxEdits, word.length() <= 2 ? 0 : word.length() <= 5 ? 1 : 2);
+            if (edits > 0) {
+                matches.or(fuzzyNames.rowsWithWordNear(word, edits));
+            }
+            rows.and(matches);
+        }
+    }
+
+    /**
+     * Compares two rows in the same order as {@code RestaurantComparator}:
+     * distance ascending, rating descending, price ascending, then id.
+     */
+    public int compareRows(int row1, int row2) {
+        return compareRows(SortMode.DISTANCE, row1, row2);
+    }
+
+    public int compareRows(SortMode mode, int row1, int row2) {
+        return mode.compare(
+                distances[row1], ratings[row1], prices[row1], ids[row1],
+                distances[row2], ratings[row2], prices[row2], ids[row2]);
+    }
+
+    /**
+     * Returns true when {@code row} ranks strictly after the row described by {@code cursor}.
+     */
+    public boolean isAfter(int row, SearchCursor cursor) {
+        return isAfter(SortMode.DISTANCE, row, cursor);
+    }
+
+    public boolean isAfter(SortMode mode, int row, SearchCursor cursor) {
+        return mode.compare(
+                distances[row], ratings[row], prices[row], ids[row],
+                cursor.distance(), cursor.rating(), cursor.price(), cursor.id()) > 0;
+    }
+
+    /**
+     * Returns the row at {@code position} of the catalog presorted by {@code mode}.
+     */
+    public int orderedRow(SortMode mode, int position) {
+        return sortOrders[mode.ordinal()][position];
+    }
+
+    /**
+     * Returns the first position in the {@code mode} order whose row ranks after {@code cursor},
+     * found by binary search, or {@link #size()} when no row does.
+     */
+    public int positionAfter(SortMode mode, SearchCursor cursor) {
+        int[] order = sortOrders[mode.ordinal()];
+        int lo = 0;
+        int hi = order.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (isAfter(mode, order[mid], cursor)) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Resolves a cuisine substring query against the dictionary once, so the
+     * per-row check becomes a single array lookup on the row's cuisine code.
+     */
+    public boolean[] matchCuisineCodes(String query) {
+        String needle = normalize(query);
+        boolean[] matches = new boolean[cuisineDictionary.length];
+        for (int code = 0; code < cuisineDictionary.length; code++) {
+            matches[code] = cuisineDictionary[code].contains(needle);
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,10 @@
+package org.galaxy.server.index;
+
+/**
+ * Orders rows of a {@link RestaurantIndex} by their row number, so ranking can
+ * run over primitive columns without touching {@code Restaurant} objects.
+ */
+@FunctionalInterface
+public interface RowComparator {
+    int compare(int row1, int row2);
+}
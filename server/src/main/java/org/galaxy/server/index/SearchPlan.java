@@ -0,0 +1,49 @@
+package org.galaxy.server.index;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A compiled restaurant search: the filters that are actually present, ordered from most to
+ * least selective. Executing the plan narrows a bitmap of all rows stage by stage and stops
+ * as soon as no rows remain.
+ */
+public final class SearchPlan {
+
+    /**
+     * One filter of the plan together with the row count estimated from column statistics.
+     */
+    public record Stage(String filter, int estimatedRows, Consumer<BitSet> action) {}
+
+    /**
+     * Debugging view of a single stage, without the executable part.
+     */
+    public record Step(String filter, int estimatedRows) {}
+
+    private final RestaurantIndex index;
+    private final List<Stage> stages;
+
+    SearchPlan(RestaurantIndex index, List<Stage> stages) {
+        this.index = index;
+        this.stages = stages;
+    }
+
+    /**
+     * Runs every stage and returns the rows that satisfy all filters.
+     */
+    public BitSet execute() {
+        BitSet rows = index.allRows();
+        for (Stage stage : stages) {
+            if (rows.isEmpty()) break;
+            stage.action().accept(rows);
+        }
+        return rows;
+    }
+
+    public List<Step> explain() {
+        return stages.stream()
+                .map(stage -> new Step(stage.filter(), stage.estimatedRows()))
+                .toList();
+    }
+}
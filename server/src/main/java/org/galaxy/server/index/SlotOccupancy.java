@@ -0,0 +1,75 @@
+package org.galaxy.server.index;
+
+/**
+ * Guest counts over a fixed number of consecutive time slots, backed by a segment tree.
+ * Booking adds guests to a range of slots and the peak query returns the busiest slot in
+ * a range, both in O(log slots): every node keeps the guests added to its whole range
+ * plus the peak below it, so neither operation has to touch individual slots.
+ * Not thread-safe; callers synchronize.
+ */
+public final class SlotOccupancy {
+
+    private final int slots;
+    private final int[] added;
+    private final int[] peak;
+
+    public SlotOccupancy(int slots) {
+        if (slots <= 0) {
+            throw new IllegalArgumentException("slots must be positive");
+        }
+        this.slots = slots;
+        this.added = new int[4 * slots];
+        this.peak = new int[4 * slots];
+    }
+
+    public int slots() {
+        return slots;
+    }
+
+    /**
+     * Adds {@code guests} to every slot in {@code [from, to)}; negative values release them again.
+     */
+    public void add(int from, int to, int guests) {
+        checkRange(from, to);
+        if (from < to) {
+            add(1, 0, slots, from, to, guests);
+        }
+    }
+
+    /**
+     * Returns the highest guest count of any slot in {@code [from, to)}, or 0 for an empty range.
+     */
+    public int peak(int from, int to) {
+        checkRange(from, to);
+        return from < to ? peak(1, 0, slots, from, to) : 0;
+    }
+
+    private void add(int node, int lo, int hi, int from, int to, int guests) {
+        if (from <= lo && hi <= to) {
+            added[node] += guests;
+            peak[node] += guests;
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (from < mid) add(2 * node, lo, mid, from, to, guests);
+        if (to > mid) add(2 * node + 1, mid, hi, from, to, guests);
+        peak[node] = added[node] + Math.max(peak[2 * node], peak[2 * node + 1]);
+    }
+
+    private int peak(int node, int lo, int hi, int from, int to) {
+        if (from <= lo && hi <= to) {
+            return peak[node];
+        }
+        int mid = (lo + hi) >>> 1;
+        int best = Integer.MIN_VALUE;
+        if (from < mid) best = peak(2 * node, lo, mid, from, to);
+        if (to > mid) best = Math.max(best, peak(2 * node + 1, mid, hi, from, to));
+        return added[node] + best;
+    }
+
+    private void checkRange(int from, int to) {
+        if (from < 0 || to > slots || from > to) {
+            throw new IndexOutOfBoundsException("Slot range [" + from + ", " + to + ") outside [0, " + slots + ")");
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.galaxy.server.index;
+
+/**
+ * Bounded selector that keeps only the best {@code k} rows seen so far.
+ * Candidates are held in a fixed-size max-heap whose root is the worst kept row,
+ * so each offer costs O(log k) and memory stays O(k) regardless of how many rows match.
+ */
+public final class TopKSelector {
+
+    private final RowComparator comparator;
+    private final int[] heap;
+    private int size;
+
+    public TopKSelector(int k, RowComparator comparator) {
+        this.comparator = comparator;
+        this.heap = new int[Math.max(k, 0)];
+    }
+
+    public void offer(int row) {
+        if (size < heap.length) {
+            heap[size] = row;
+            siftUp(size++);
+        } else if (size > 0 && comparator.compare(row, heap[0]) < 0) {
+            heap[0] = row;
+            siftDown(0, size);
+        }
+    }
+
+    /**
+     * Whether {@link #offer} would keep {@code row} right now, so callers can skip costly
+     * filters for rows that could not make the top {@code k} anyway.
+     */
+    public boolean wouldAccept(int row) {
+        return size < heap.length || (size > 0 && comparator.compare(row, heap[0]) < 0);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Drains the selector, returning the kept rows best-first.
+     */
+    public int[] toSortedArray() {
+        int[] result = new int[size];
+        int remaining = size;
+        while (remaining > 0) {
+            result[remaining - 1] = heap[0];
+            heap[0] = heap[--remaining];
+            siftDown(0, remaining);
+        }
+        size = 0;
+        return result;
+    }
+
+    private void siftUp(int i) {
+        int row = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (comparator.compare(row, heap[parent]) <= 0) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = row;
+    }
+
+    private void siftDown(int i, int end) {
+        int row = heap[i];
+        int half = end >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < end && comparator.compare(heap[right], heap[child]) > 0) {
+                child = right;
+            }
+            if (comparator.compare(row, heap[child]) >= 0) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = row;
+    }
+}
@@ -0,0 +1,116 @@
+package org.galaxy.server.index;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Inverted index from character trigrams to the sorted rows whose normalized name contains them.
+ * A substring query of three or more characters can only match rows that contain every one
+ * of its trigrams, so intersecting the posting lists yields a small candidate set that is
+ * then verified with a plain {@code contains} check.
+ */
+public final class TrigramIndex {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final int rowCount;
+    private final Map<Long, int[]> postings;
+
+    private TrigramIndex(int rowCount, Map<Long, int[]> postings) {
+        this.rowCount = rowCount;
+        this.postings = postings;
+    }
+
+    public static TrigramIndex build(String[] normalizedValues) {
+        Map<Long, PostingBuilder> builders = new HashMap<>();
+        for (int row = 0; row < normalizedValues.length; row++) {
+            String value = normalizedValues[row];
+            for (int i = 0; i + 3 <= value.length(); i++) {
+                builders.computeIfAbsent(trigram(value, i), key -> new PostingBuilder()).add(row);
+            }
+        }
+
+        Map<Long, int[]> postings = new HashMap<>(builders.size() * 2);
+        builders.forEach((key, builder) -> postings.put(key, builder.toArray()));
+        return new TrigramIndex(normalizedValues.length, postings);
+    }
+
+    /**
+     * Returns the rows that may contain {@code normalizedQuery}, or {@code null} when the
+     * query is shorter than a trigram and cannot be narrowed by the index.
+     */
+    public BitSet candidates(String normalizedQuery) {
+        if (normalizedQuery.length() < 3) {
+            return null;
+        }
+
+        int[] rows = null;
+        for (int i = 0; i + 3 <= normalizedQuery.length(); i++) {
+            int[] posting = postings.getOrDefault(trigram(normalizedQuery, i), EMPTY);
+            rows = rows == null ? posting : intersect(rows, posting);
+            if (rows.length == 0) break;
+        }
+
+        BitSet result = new BitSet(rowCount);
+        for (int row : rows) {
+            result.set(row);
+        }
+        return result;
+    }
+
+    /**
+     * Upper bound on the number of rows matching {@code normalizedQuery}: the length of its
+     * shortest posting list, or every row when the query is shorter than a trigram.
+     */
+    public int estimate(String normalizedQuery) {
+        if (normalizedQuery.length() < 3) {
+            return rowCount;
+        }
+        int estimate = rowCount;
+        for (int i = 0; i + 3 <= normalizedQuery.length(); i++) {
+            estimate = Math.min(estimate, postings.getOrDefault(trigram(normalizedQuery, i), EMPTY).length);
+        }
+        return estimate;
+    }
+
+    private static long trigram(String value, int start) {
+        return ((long) value.charAt(start) << 32)
+                | ((long) value.charAt(start + 1) << 16)
+                | value.charAt(start + 2);
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    private static final class PostingBuilder {
+        private int[] rows = new int[4];
+        private int size;
+
+        void add(int row) {
+            // Rows arrive in ascending order, so a repeated trigram within one name shows up as the tail.
+            if (size > 0 && rows[size - 1] == row) return;
+            if (size == rows.length) rows = Arrays.copyOf(rows, size * 2);
+            rows[size++] = row;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(rows, size);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package org.galaxy.server.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Whether a restaurant can seat a party for a time window, and how many seats stay free
+ * in the busiest part of that window.
+ */
+public record Availability(
+        Integer restaurantId,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        int guestCount,
+        int seatsLeft,
+        boolean available
+) {}
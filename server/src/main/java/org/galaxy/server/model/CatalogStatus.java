@@ -0,0 +1,9 @@
+package org.galaxy.server.model;
+
+/**
+ * Describes the restaurant catalog snapshot currently serving searches.
+ */
+public record CatalogStatus(
+        long version,
+        int restaurants
+) {}
@@ -0,0 +1,26 @@
+package org.galaxy.server.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Highest journal sequence number whose reservation has been written to the database.
+ * Updated in the same transaction as the reservations themselves, so a replay after a crash
+ * never inserts an entry twice.
+ */
+@Entity
+@Table(name = "journal_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JournalCheckpoint {
+
+    @Id
+    private String journal;
+
+    private long sequence;
+}
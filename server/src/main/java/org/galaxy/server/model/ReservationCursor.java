@@ -0,0 +1,29 @@
+package org.galaxy.server.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keyset cursor identifying the last reservation of a page by its {@code (startTime, id)} order.
+ * Encoded as {@code startTime_id}, e.g. {@code 2025-12-22T19:00_42}, so clients can pass it back verbatim.
+ */
+public record ReservationCursor(LocalDateTime startTime, long id) {
+
+    public static ReservationCursor of(Reservation reservation) {
+        return new ReservationCursor(reservation.getStartTime(), reservation.getId());
+    }
+
+    public static ReservationCursor parse(String value) {
+        int separator = value.lastIndexOf('_');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Cursor must have the form startTime_id");
+        }
+        return new ReservationCursor(
+                LocalDateTime.parse(value.substring(0, separator).trim()),
+                Long.parseLong(value.substring(separator + 1).trim())
+        );
+    }
+
+    public String encode() {
+        return startTime + "_" + id;
+    }
+}
@@ -0,0 +1,12 @@
+package org.galaxy.server.model;
+
+/**
+ * Outcome of a bulk reservation import: rows saved, rows skipped for missing or invalid
+ * fields, and the write throughput.
+ */
+public record ReservationImportResult(
+        int imported,
+        int skipped,
+        long elapsedMillis,
+        double rowsPerSecond
+) {}
@@ -14,6 +14,8 @@ public class Restaurant{
     private Integer price;
     private Integer cuisineId;
     private String cuisine;
+    private Double latitude;
+    private Double longitude;
 
     public Restaurant() {}
     public Restaurant(Integer id, String name, Integer rating, Integer distance, Integer price, Integer cuisineId, String cuisine) {
@@ -25,6 +27,12 @@ public class Restaurant{
         this.cuisineId = cuisineId;
         this.cuisine = cuisine;
     }
+    public Restaurant(Integer id, String name, Integer rating, Integer distance, Integer price, Integer cuisineId, String cuisine,
+                      Double latitude, Double longitude) {
+        this(id, name, rating, distance, price, cuisineId, cuisine);
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
 
     public String toString() {
         return "ID: " + id +
@@ -3,21 +3,25 @@ package org.galaxy.server.model;
 import java.util.Comparator;
 
 /**
- * Comparator for ranking restaurants based on distance, rating, and price.
+ * Comparator for ranking restaurants by a {@link SortMode}, which defaults to distance,
+ * rating, and price. Ties are broken by id so that the order is total and can back keyset pagination.
  */
 public class RestaurantComparator implements Comparator<Restaurant> {
-    @Override
-    public int compare(Restaurant o1, Restaurant o2) {
 
-        int res = Integer.compare(o1.getDistance(), o2.getDistance());
-        if (res != 0) return res;
+    private final SortMode mode;
 
-        res = Integer.compare(o2.getRating(), o1.getRating());
-        if (res != 0) return res;
+    public RestaurantComparator() {
+        this(SortMode.DISTANCE);
+    }
 
-        res = Integer.compare(o1.getPrice(), o2.getPrice());
-        if (res != 0) return res;
+    public RestaurantComparator(SortMode mode) {
+        this.mode = mode;
+    }
 
-        return 0;
+    @Override
+    public int compare(Restaurant o1, Restaurant o2) {
+        return mode.compare(
+                o1.getDistance(), o1.getRating(), o1.getPrice(), o1.getId(),
+                o2.getDistance(), o2.getRating(), o2.getPrice(), o2.getId());
     }
 }
@@ -3,19 +3,63 @@ package org.galaxy.server.model;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
+
+import java.util.Locale;
 
 /**
  * Options for filtering and limiting restaurant search results.
  */
 @Getter
-@Builder
+@Builder(toBuilder = true)
+@Jacksonized
+@EqualsAndHashCode
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 public class RestaurantSearchOptions {
+    public static final int DEFAULT_LIMIT = 5;
+    public static final int MAX_FUZZY_EDITS = 2;
+
     private String name;
+    private Integer fuzzy;
     private Integer rating;
     private Integer distance;
     private Integer price;
     private String cuisine;
     private Integer limit;
+    private SortMode sort;
+    private SearchCursor cursor;
+    private Double latitude;
+    private Double longitude;
+    private Double radius;
+
+    /**
+     * Returns true when the search is anchored at a point and should rank by actual distance.
+     */
+    public boolean hasLocation() {
+        return latitude != null && longitude != null;
+    }
+
+    /**
+     * Returns an equivalent copy with trimmed, lowercased text filters (blank ones dropped),
+     * the default limit and sort applied and {@code fuzzy} clamped to {@link #MAX_FUZZY_EDITS}
+     * (dropped when not positive), so that equal searches compare and hash equally.
+     */
+    public RestaurantSearchOptions normalized() {
+        return toBuilder()
+                .name(normalizeText(name))
+                .cuisine(normalizeText(cuisine))
+                .limit(limit == null ? DEFAULT_LIMIT : limit)
+                .sort(sort == null ? SortMode.DISTANCE : sort)
+                .fuzzy(fuzzy == null || fuzzy <= 0 ? null : Math.min(fuzzy, MAX_FUZZY_EDITS))
+                .build();
+    }
+
+    private static String normalizeText(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,40 @@
+package org.galaxy.server.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Keyset cursor identifying the last restaurant of a search page by its ranking keys.
+ * Encoded as {@code distance:rating:price:id} so clients can pass it back verbatim,
+ * both as a query parameter and in JSON request bodies.
+ */
+public record SearchCursor(int distance, int rating, int price, int id) {
+
+    public static SearchCursor of(Restaurant restaurant) {
+        return new SearchCursor(
+                restaurant.getDistance(),
+                restaurant.getRating(),
+                restaurant.getPrice(),
+                restaurant.getId()
+        );
+    }
+
+    @JsonCreator
+    public static SearchCursor parse(String value) {
+        String[] parts = value.split(":");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Cursor must have the form distance:rating:price:id");
+        }
+        return new SearchCursor(
+                Integer.parseInt(parts[0].trim()),
+                Integer.parseInt(parts[1].trim()),
+                Integer.parseInt(parts[2].trim()),
+                Integer.parseInt(parts[3].trim())
+        );
+    }
+
+    @JsonValue
+    public String encode() {
+        return distance + ":" + rating + ":" + price + ":" + id;
+    }
+}
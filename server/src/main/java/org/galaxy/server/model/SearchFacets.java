@@ -0,0 +1,16 @@
+package org.galaxy.server.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Facet histograms for a set of search filters together with the top-ranked matches.
+ * Counts only include values that occur among the {@code total} matching restaurants.
+ */
+public record SearchFacets(
+        int total,
+        Map<String, Integer> cuisines,
+        Map<String, Integer> priceBands,
+        Map<Integer, Integer> ratings,
+        List<Restaurant> results
+) {}
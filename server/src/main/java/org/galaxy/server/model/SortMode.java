@@ -0,0 +1,68 @@
+package org.galaxy.server.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+import java.util.Locale;
+
+/**
+ * Ranking orders selectable for advanced search. Every mode ends with the id as a final
+ * tie-breaker, so each one is a total order that keyset cursors can resume from.
+ */
+public enum SortMode {
+    /** Nearest first, then best rated, then cheapest. */
+    DISTANCE,
+    /** Cheapest first, then nearest, then best rated. */
+    CHEAPEST,
+    /** Best rated first, then nearest, then cheapest. */
+    BEST_RATED,
+    /** Highest weighted {@link #score} first, falling back to the distance order. */
+    SCORE;
+
+    public static final int RATING_WEIGHT = 20;
+    public static final int DISTANCE_WEIGHT = 5;
+    public static final int PRICE_WEIGHT = 1;
+
+    /**
+     * Weighted score used by {@link #SCORE}: rewards rating, penalizes distance and price.
+     */
+    public static int score(int rating, int distance, int price) {
+        return RATING_WEIGHT * rating - DISTANCE_WEIGHT * distance - PRICE_WEIGHT * price;
+    }
+
+    /**
+     * Parses a request parameter such as {@code best-rated} or {@code CHEAPEST};
+     * returns null for a missing value.
+     */
+    @JsonCreator
+    public static SortMode fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Compares two restaurants given by their ranking keys; negative when the first ranks higher.
+     */
+    public int compare(int distance1, int rating1, int price1, int id1,
+                       int distance2, int rating2, int price2, int id2) {
+        int res = switch (this) {
+            case DISTANCE -> 0;
+            case CHEAPEST -> Integer.compare(price1, price2);
+            case BEST_RATED -> Integer.compare(rating2, rating1);
+            case SCORE -> Integer.compare(score(rating2, distance2, price2), score(rating1, distance1, price1));
+        };
+        if (res != 0) return res;
+
+        res = Integer.compare(distance1, distance2);
+        if (res != 0) return res;
+
+        res = Integer.compare(rating2, rating1);
+        if (res != 0) return res;
+
+        res = Integer.compare(price1, price2);
+        if (res != 0) return res;
+
+        return Integer.compare(id1, id2);
+    }
+}
@@ -0,0 +1,12 @@
+package org.galaxy.server.repository;
+
+import org.galaxy.server.model.JournalCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for {@link JournalCheckpoint} entities.
+ */
+@Repository
+public interface JournalCheckpointRepository extends JpaRepository<JournalCheckpoint, String> {
+}
@@ -1,7 +1,9 @@
 package org.galaxy.server.repository;
 
 import org.galaxy.server.model.Reservation;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -15,5 +17,22 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
 
     List<Reservation> findByRestaurantId(Integer restaurantId);
 
+    List<Reservation> findByEndTimeAfter(LocalDateTime time);
+
     List<Reservation> findByRestaurantIdAndStartTimeBetween(Integer restaurantId, LocalDateTime startTime, LocalDateTime startTime2);
+
+    /**
+     * One page of a restaurant's reservations starting in {@code [from, to]}, ordered by start time
+     * and id. Rows starting exactly at {@code from} are only returned when their id is above
+     * {@code afterId}, so passing the last row of the previous page as {@code from}/{@code afterId}
+     * resumes right after it with an index seek instead of an offset.
+     */
+    @Query("""
+            select r from Reservation r
+            where r.restaurantId = :restaurantId
+              and r.startTime >= :from and r.startTime <= :to
+              and (r.startTime > :from or r.id > :afterId)
+            order by r.startTime, r.id
+            """)
+    List<Reservation> findPage(Integer restaurantId, LocalDateTime from, LocalDateTime to, Long afterId, Limit limit);
 }
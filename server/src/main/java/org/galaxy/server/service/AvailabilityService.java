@@ -0,0 +1,223 @@
+package org.galaxy.server.service;
+
+import jakarta.annotation.PostConstruct;
+import org.galaxy.server.index.SlotOccupancy;
+import org.galaxy.server.model.Availability;
+import org.galaxy.server.model.Reservation;
+import org.galaxy.server.repository.ReservationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntPredicate;
+
+/**
+ * In-memory seat occupancy per restaurant and day, answering availability checks without
+ * loading reservations from the database. Each day is split into {@link #SLOT_MINUTES}-minute
+ * slots held in a {@link SlotOccupancy}; a reservation occupies every slot it overlaps, so
+ * windows that do not start or end on a slot boundary are checked conservatively.
+ * The occupancy is rebuilt at startup from the reservations that have not ended yet and updated
+ * by {@link ReservationService#createReservation}. Only today and later are kept: reservations
+ * that ended before today are ignored, and past days are dropped once a day as bookings arrive,
+ * so memory follows upcoming bookings rather than the whole history. Windows are capped at
+ * {@link #MAX_WINDOW}, since each day a window touches costs a {@link SlotOccupancy} to book
+ * and a lookup to check.
+ */
+@Service
+// Every reservation writer depends on this service, so aligning the id sequence here covers them all
+@DependsOn("reservationSequenceInitializer")
+public class AvailabilityService {
+
+    static final int SLOT_MINUTES = 15;
+    static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    public static final Duration MAX_WINDOW = Duration.ofHours(24);
+
+    private final ReservationRepository reservationRepository;
+    private final int capacity;
+    private final Duration defaultDuration;
+    private final Map<Integer, RestaurantCalendar> calendars = new ConcurrentHashMap<>();
+    private volatile LocalDate evictedBefore = LocalDate.MIN;
+
+    public AvailabilityService(
+            ReservationRepository reservationRepository,
+            @Value("${app.reservations.capacity:40}") int capacity,
+            @Value("${app.reservations.default-duration:PT1H}") Duration defaultDuration
+    ) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("app.reservations.capacity must be positive");
+        }
+        this.reservationRepository = reservationRepository;
+        this.capacity = capacity;
+        this.defaultDuration = defaultDuration;
+    }
+
+    @PostConstruct
+    public void loadReservations() {
+        int count = 0;
+        for (Reservation reservation : reservationRepository.findByEndTimeAfter(LocalDate.now().atStartOfDay())) {
+            book(reservation);
+            count++;
+        }
+        System.out.println("Loaded " + count + " reservations into the availability calendar.");
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Records the seats taken by a saved reservation. Reservations without guests or a valid time
+     * window, those longer than {@link #MAX_WINDOW}, and those that ended before today are ignored.
+     */
+    public void book(Reservation reservation) {
+        LocalDate today = LocalDate.now();
+        if (today.isAfter(evictedBefore)) {
+            evictDaysBefore(today);
+        }
+        if (!isBookable(reservation, today)) {
+            return;
+        }
+        calendars.computeIfAbsent(reservation.getRestaurantId(), id -> new RestaurantCalendar())
+                .add(reservation.getStartTime(), reservation.getEndTime(), reservation.getGuestCount());
+    }
+
+    /**
+     * Gives back the seats of a booking that did not go through.
+     */
+    public void release(Reservation reservation) {
+        if (!isBookable(reservation, LocalDate.now())) {
+            return;
+        }
+        RestaurantCalendar calendar = calendars.get(reservation.getRestaurantId());
+        if (calendar != null) {
+            calendar.add(reservation.getStartTime(), reservation.getEndTime(), -reservation.getGuestCount());
+        }
+    }
+
+    /**
+     * Checks whether {@code guestCount} more guests fit at the restaurant for the whole window.
+     * Without an end time the window lasts {@code app.reservations.default-duration}.
+     */
+    public Availability check(Integer restaurantId, LocalDateTime startTime, LocalDateTime endTime, Integer guestCount) {
+        if (restaurantId == null) {
+            throw new IllegalArgumentException("Restaurant, start time and guest count are required");
+        }
+        LocalDateTime end = windowEnd(startTime, endTime, guestCount);
+
+        RestaurantCalendar calendar = calendars.get(restaurantId);
+        int peak = calendar == null ? 0 : calendar.peak(startTime, end);
+        int seatsLeft = Math.max(0, capacity - peak);
+        return new Availability(restaurantId, startTime, end, guestCount, seatsLeft, guestCount <= seatsLeft);
+    }
+
+    /**
+     * Returns a test of restaurant ids for whether {@code guestCount} more guests fit for the
+     * whole window, with the window validated once up front so the test can run inside a scan
+     * over many restaurants. Restaurants without reservations always fit a party within capacity.
+     */
+    public IntPredicate canSeat(LocalDateTime startTime, LocalDateTime endTime, Integer guestCount) {
+        LocalDateTime end = windowEnd(startTime, endTime, guestCount);
+        int guests = guestCount;
+        if (guests > capacity) {
+            return restaurantId -> false;
+        }
+        return restaurantId -> {
+            RestaurantCalendar calendar = calendars.get(restaurantId);
+            return calendar == null || capacity - calendar.peak(startTime, end) >= guests;
+        };
+    }
+
+    private LocalDateTime windowEnd(LocalDateTime startTime, LocalDateTime endTime, Integer guestCount) {
+        if (startTime == null || guestCount == null) {
+            throw new IllegalArgumentException("Restaurant, start time and guest count are required");
+        }
+        if (guestCount <= 0) {
+            throw new IllegalArgumentException("guestCount must be positive");
+        }
+        LocalDateTime end = endTime == null ? startTime.plus(defaultDuration) : endTime;
+        if (!end.isAfter(startTime)) {
+            throw new IllegalArgumentException("endTime must be after startTime");
+        }
+        if (!fitsMaxWindow(startTime, end)) {
+            throw new IllegalArgumentException("The time window may last at most " + MAX_WINDOW.toHours() + " hours");
+        }
+        return end;
+    }
+
+    /**
+     * Drops the occupancy of days before {@code day}, and of restaurants left without any days.
+     */
+    void evictDaysBefore(LocalDate day) {
+        evictedBefore = day;
+        calendars.values().removeIf(calendar -> calendar.evictDaysBefore(day));
+    }
+
+    private static boolean isBookable(Reservation reservation, LocalDate today) {
+        return reservation.getRestaurantId() != null
+                && reservation.getGuestCount() != null && reservation.getGuestCount() > 0
+                && reservation.getStartTime() != null && reservation.getEndTime() != null
+                && reservation.getEndTime().isAfter(reservation.getStartTime())
+                && fitsMaxWindow(reservation.getStartTime(), reservation.getEndTime())
+                && reservation.getEndTime().isAfter(today.atStartOfDay());
+    }
+
+    static boolean fitsMaxWindow(LocalDateTime startTime, LocalDateTime endTime) {
+        return !endTime.isAfter(startTime.plus(MAX_WINDOW));
+    }
+
+    /**
+     * Slot occupancy of one restaurant, keyed by day. Windows crossing midnight touch each day they overlap.
+     */
+    private static final class RestaurantCalendar {
+        private final Map<LocalDate, SlotOccupancy> days = new HashMap<>();
+
+        synchronized void add(LocalDateTime start, LocalDateTime end, int guests) {
+            for (LocalDate day = start.toLocalDate(); day.atStartOfDay().isBefore(end); day = day.plusDays(1)) {
+                days.computeIfAbsent(day, d -> new SlotOccupancy(SLOTS_PER_DAY))
+                        .add(firstSlot(day, start), endSlot(day, end), guests);
+            }
+        }
+
+        /**
+         * Removes days before {@code day} and returns whether none are left.
+         */
+        synchronized boolean evictDaysBefore(LocalDate day) {
+            days.keySet().removeIf(d -> d.isBefore(day));
+            return days.isEmpty();
+        }
+
+        synchronized int peak(LocalDateTime start, LocalDateTime end) {
+            int peak = 0;
+            for (LocalDate day = start.toLocalDate(); day.atStartOfDay().isBefore(end); day = day.plusDays(1)) {
+                SlotOccupancy occupancy = days.get(day);
+                if (occupancy != null) {
+                    peak = Math.max(peak, occupancy.peak(firstSlot(day, start), endSlot(day, end)));
+                }
+            }
+            return peak;
+        }
+
+        private static int firstSlot(LocalDate day, LocalDateTime start) {
+            if (start.toLocalDate().isBefore(day)) {
+                return 0;
+            }
+            return (start.getHour() * 60 + start.getMinute()) / SLOT_MINUTES;
+        }
+
+        private static int endSlot(LocalDate day, LocalDateTime end) {
+            if (end.toLocalDate().isAfter(day)) {
+                return SLOTS_PER_DAY;
+            }
+            // Round up so a window ending mid-slot still covers that slot
+            long minutes = Duration.between(day.atStartOfDay(), end).toMinutes()
+                    + (end.getSecond() > 0 || end.getNano() > 0 ? 1 : 0);
+            return (int) ((minutes + SLOT_MINUTES - 1) / SLOT_MINUTES);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package org.galaxy.server.service;
+
+/**
+ * Thrown when a reservation could not be written to the {@link ReservationJournal}. The booking
+ * was not recorded, so the client may safely retry once the journal is back.
+ */
+public class JournalUnavailableException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public JournalUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,132 @@
+package org.galaxy.server.service;
+
+import jakarta.annotation.PreDestroy;
+import org.galaxy.server.index.RestaurantIndex;
+import org.galaxy.server.index.TopKSelector;
+import org.galaxy.server.model.Restaurant;
+import org.galaxy.server.model.RestaurantComparator;
+import org.galaxy.server.model.SearchCursor;
+import org.galaxy.server.model.SortMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Top-K selection over large candidate sets on a dedicated fork-join pool.
+ * The catalog rows are split into fixed-size partitions, each partition keeps its own bounded
+ * top-K heap, and partial results are merged pairwise with {@link RestaurantComparator}.
+ * Scans below the threshold stay on the caller's thread, where fork-join overhead would dominate.
+ */
+@Component
+public class ParallelTopKSearch {
+
+    private final int threshold;
+    private final int partitionSize;
+    private final ForkJoinPool pool;
+
+    public ParallelTopKSearch(
+            @Value("${app.search.parallel.threshold:100000}") int threshold,
+            @Value("${app.search.parallel.partition-size:65536}") int partitionSize,
+            @Value("${app.search.parallel.threads:0}") int threads
+    ) {
+        this.threshold = threshold;
+        this.partitionSize = Math.max(partitionSize, 1);
+        this.pool = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Returns true when a scan over {@code matches} candidate rows is large enough to split up.
+     * A threshold of zero or less disables the parallel path.
+     */
+    public boolean shouldParallelize(int matches) {
+        return threshold > 0 && matches >= threshold;
+    }
+
+    /**
+     * Returns the best {@code limit} candidate rows ranking after {@code cursor} (if any), best first.
+     */
+    public List<Restaurant> topK(RestaurantIndex index, BitSet candidates, SortMode sort, SearchCursor cursor, int limit) {
+        int partitions = (index.size() + partitionSize - 1) / partitionSize;
+        if (partitions == 0 || limit <= 0) {
+            return List.of();
+        }
+        return pool.invoke(new PartitionTask(index, candidates, sort, cursor, limit, 0, partitions));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private final class PartitionTask extends RecursiveTask<List<Restaurant>> {
+        private static final long serialVersionUID = 1L;
+
+        private final RestaurantIndex index;
+        private final BitSet candidates;
+        private final SortMode sort;
+        private final SearchCursor cursor;
+        private final int limit;
+        private final int fromPartition;
+        private final int toPartition;
+
+        PartitionTask(RestaurantIndex index, BitSet candidates, SortMode sort, SearchCursor cursor, int limit,
+                      int fromPartition, int toPartition) {
+            this.index = index;
+            this.candidates = candidates;
+            this.sort = sort;
+            this.cursor = cursor;
+            this.limit = limit;
+            this.fromPartition = fromPartition;
+            this.toPartition = toPartition;
+        }
+
+        @Override
+        protected List<Restaurant> compute() {
+            if (toPartition - fromPartition == 1) {
+                return scanPartition();
+            }
+            int mid = (fromPartition + toPartition) >>> 1;
+            PartitionTask left = new PartitionTask(index, candidates, sort, cursor, limit, fromPartition, mid);
+            PartitionTask right = new PartitionTask(index, candidates, sort, cursor, limit, mid, toPartition);
+            left.fork();
+            List<Restaurant> rightResults = right.compute();
+            return merge(left.join(), rightResults);
+        }
+
+        private List<Restaurant> scanPartition() {
+            int from = fromPartition * partitionSize;
+            int to = Math.min(from + partitionSize, index.size());
+            TopKSelector selector = new TopKSelector(limit, (row1, row2) -> index.compareRows(sort, row1, row2));
+            for (int row = candidates.nextSetBit(from); row >= 0 && row < to; row = candidates.nextSetBit(row + 1)) {
+                if (cursor != null && !index.isAfter(sort, row, cursor)) continue;
+                selector.offer(row);
+            }
+
+            List<Restaurant> res = new ArrayList<>(selector.size());
+            for (int row : selector.toSortedArray()) {
+                res.add(index.row(row));
+            }
+            return res;
+        }
+
+        private List<Restaurant> merge(List<Restaurant> left, List<Restaurant> right) {
+            RestaurantComparator comparator = new RestaurantComparator(sort);
+            List<Restaurant> res = new ArrayList<>(Math.min(limit, left.size() + right.size()));
+            int i = 0;
+            int j = 0;
+            while (res.size() < limit && (i < left.size() || j < right.size())) {
+                if (j == right.size() || (i < left.size() && comparator.compare(left.get(i), right.get(j)) <= 0)) {
+                    res.add(left.get(i++));
+                } else {
+                    res.add(right.get(j++));
+                }
+            }
+            return res;
+        }
+    }
+}
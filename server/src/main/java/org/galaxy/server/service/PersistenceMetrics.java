@@ -0,0 +1,213 @@
+package org.galaxy.server.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Collects persistence timings fed by the JDBC and repository proxies in
+ * {@code config.PersistenceInstrumentation} and the per-request scope opened by
+ * {@code config.StatementCountFilter}:
+ * <ul>
+ *   <li>a latency histogram per SQL statement and per repository method,</li>
+ *   <li>a histogram of statements executed per request, per endpoint,</li>
+ *   <li>likely N+1 patterns: the same select run at least {@code app.persistence.n-plus-one-threshold}
+ *       times within one request,</li>
+ *   <li>a slow-query log line for each statement slower than {@code app.persistence.slow-query-threshold}.</li>
+ * </ul>
+ * Statements are keyed by their SQL with whitespace collapsed and {@code IN (?, ?, ...)} lists
+ * folded, so the same query with different parameters lands in one histogram. At most
+ * {@link #MAX_KEYS} distinct statements are tracked; the rest are counted under {@link #OTHER}.
+ */
+@Component
+public class PersistenceMetrics {
+
+    static final int MAX_KEYS = 500;
+    static final String OTHER = "(other)";
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+
+    /**
+     * Latency of one statement or repository method, in milliseconds.
+     */
+    public record TimingStats(String name, long count, double totalMillis, double meanMillis,
+                              double p50Millis, double p99Millis, double maxMillis) {}
+
+    /**
+     * Statements executed per request for one endpoint.
+     */
+    public record RequestStats(String endpoint, long requests, double meanStatements,
+                               long p99Statements, long maxStatements) {}
+
+    /**
+     * A select repeated within single requests to an endpoint, typically a lazy association
+     * loaded once per row. {@code requests} counts the requests where it happened.
+     */
+    public record NPlusOneSuspect(String endpoint, String statement, long requests, long maxExecutionsPerRequest) {}
+
+    /**
+     * Snapshot of everything collected since startup, slowest totals first.
+     */
+    public record Stats(long statements, long slowStatements, long slowThresholdMillis,
+                        List<TimingStats> statementTimings, List<TimingStats> repositoryTimings,
+                        List<RequestStats> requests, List<NPlusOneSuspect> nPlusOneSuspects) {}
+
+    private final boolean enabled;
+    private final long slowThresholdNanos;
+    private final int nPlusOneThreshold;
+
+    private final Map<String, Histogram> statements = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> repositoryMethods = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> requests = new ConcurrentHashMap<>();
+    private final Map<String, Suspect> suspects = new ConcurrentHashMap<>();
+    private final LongAdder slowStatements = new LongAdder();
+    private final ThreadLocal<Map<String, Integer>> currentRequest = new ThreadLocal<>();
+
+    public PersistenceMetrics(
+            @Value("${app.persistence.metrics.enabled:true}") boolean enabled,
+            @Value("${app.persistence.slow-query-threshold:PT0.1S}") Duration slowThreshold,
+            @Value("${app.persistence.n-plus-one-threshold:10}") int nPlusOneThreshold
+    ) {
+        if (nPlusOneThreshold < 2) {
+            throw new IllegalArgumentException("app.persistence.n-plus-one-threshold must be at least 2");
+        }
+        this.enabled = enabled;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records one JDBC execution, attributing it to the current request if there is one.
+     */
+    public void recordStatement(String sql, long nanos) {
+        String key = normalize(sql);
+        histogram(statements, key).record(nanos);
+
+        Map<String, Integer> request = currentRequest.get();
+        if (request != null) {
+            request.merge(key, 1, Integer::sum);
+        }
+        if (nanos >= slowThresholdNanos) {
+            slowStatements.increment();
+            System.out.printf("Slow query (%d ms): %s%n", nanos / 1_000_000, key);
+        }
+    }
+
+    public void recordRepositoryCall(String method, long nanos) {
+        histogram(repositoryMethods, method).record(nanos);
+    }
+
+    /**
+     * Starts counting statements executed on this thread until {@link #endRequest}.
+     */
+    public void beginRequest() {
+        currentRequest.set(new HashMap<>());
+    }
+
+    public void endRequest(String endpoint) {
+        Map<String, Integer> request = currentRequest.get();
+        currentRequest.remove();
+        if (request == null) {
+            return;
+        }
+        int total = 0;
+        for (Map.Entry<String, Integer> statement : request.entrySet()) {
+            total += statement.getValue();
+            if (statement.getValue() >= nPlusOneThreshold && isSelect(statement.getKey())) {
+                recordSuspect(endpoint, statement.getKey(), statement.getValue());
+            }
+        }
+        histogram(requests, endpoint).record(total);
+    }
+
+    public Stats stats() {
+        long total = statements.values().stream().mapToLong(Histogram::count).sum();
+        List<RequestStats> requestStats = requests.entrySet().stream()
+                .map(entry -> new RequestStats(entry.getKey(), entry.getValue().count(), entry.getValue().mean(),
+                        entry.getValue().percentile(99), entry.getValue().max()))
+                .sorted(Comparator.comparing(RequestStats::endpoint))
+                .toList();
+        List<NPlusOneSuspect> suspectStats = suspects.values().stream()
+                .map(Suspect::toStats)
+                .sorted(Comparator.comparingLong(NPlusOneSuspect::maxExecutionsPerRequest).reversed())
+                .toList();
+        return new Stats(total, slowStatements.sum(), slowThresholdNanos / 1_000_000,
+                timings(statements), timings(repositoryMethods), requestStats, suspectStats);
+    }
+
+    private void recordSuspect(String endpoint, String statement, int executions) {
+        Suspect suspect = suspects.computeIfAbsent(endpoint + '\n' + statement, key -> {
+            System.out.printf("Possible N+1 on %s: %d executions of %s%n", endpoint, executions, statement);
+            return new Suspect(endpoint, statement);
+        });
+        suspect.requests.increment();
+        suspect.maxExecutions.accumulateAndGet(executions, Math::max);
+    }
+
+    private static Histogram histogram(Map<String, Histogram> histograms, String key) {
+        Histogram histogram = histograms.get(key);
+        if (histogram != null) {
+            return histogram;
+        }
+        // Unbounded keys (e.g. SQL built with literals) would otherwise grow the map forever
+        return histograms.computeIfAbsent(histograms.size() < MAX_KEYS ? key : OTHER, k -> new Histogram());
+    }
+
+    private static List<TimingStats> timings(Map<String, Histogram> histograms) {
+        return histograms.entrySet().stream()
+                .map(entry -> {
+                    Histogram histogram = entry.getValue();
+                    return new TimingStats(entry.getKey(), histogram.count(), millis(histogram.sum()),
+                            millis(histogram.mean()), millis(histogram.percentile(50)),
+                            millis(histogram.percentile(99)), millis(histogram.max()));
+                })
+                .sorted(Comparator.comparingDouble(TimingStats::totalMillis).reversed())
+                .toList();
+    }
+
+    static String normalize(String sql) {
+        if (sql == null) {
+            return OTHER;
+        }
+        String collapsed = WHITESPACE.matcher(sql.strip()).replaceAll(" ");
+        return IN_LIST.matcher(collapsed).replaceAll("(?, ...)");
+    }
+
+    private static boolean isSelect(String sql) {
+        return sql.regionMatches(true, 0, "select", 0, 6);
+    }
+
+    private static double millis(double nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Suspect {
+        private final String endpoint;
+        private final String statement;
+        private final LongAdder requests = new LongAdder();
+        private final AtomicLong maxExecutions = new AtomicLong();
+
+        private Suspect(String endpoint, String statement) {
+            this.endpoint = endpoint;
+            this.statement = statement;
+        }
+
+        private NPlusOneSuspect toStats() {
+            return new NPlusOneSuspect(endpoint, statement, requests.sum(), maxExecutions.get());
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package org.galaxy.server.service;
+
+/**
+ * Thrown when a reservation would exceed the restaurant's capacity for its time window.
+ */
+public class ReservationConflictException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ReservationConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,102 @@
+package org.galaxy.server.service;
+
+import jakarta.persistence.EntityManager;
+import org.galaxy.server.model.Reservation;
+import org.galaxy.server.model.ReservationImportResult;
+import org.galaxy.server.repository.ReservationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Bulk path for loading many reservations at once, e.g. seeding booking history or migrating
+ * from another system. Rows are consumed one at a time from an iterator, so the input is never
+ * held in memory, and written in chunks of {@code app.reservations.import.chunk-size}, each in
+ * its own transaction. Within a chunk, ids come from the pooled sequence and the inserts go out
+ * as JDBC batches; the persistence context is cleared after every chunk so it does not grow
+ * with the import.
+ * <p>
+ * Imported rows are treated as authoritative history: they are added to the availability
+ * calendar but not checked against capacity. Chunks written before a failure stay committed.
+ */
+@Service
+public class ReservationImportService {
+
+    private final ReservationRepository reservationRepository;
+    private final AvailabilityService availabilityService;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final int chunkSize;
+
+    public ReservationImportService(
+            ReservationRepository reservationRepository,
+            AvailabilityService availabilityService,
+            PlatformTransactionManager transactionManager,
+            EntityManager entityManager,
+            @Value("${app.reservations.import.chunk-size:1000}") int chunkSize
+    ) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("app.reservations.import.chunk-size must be positive");
+        }
+        this.reservationRepository = reservationRepository;
+        this.availabilityService = availabilityService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.chunkSize = chunkSize;
+    }
+
+    public ReservationImportResult importReservations(Iterator<Reservation> reservations) {
+        long startNanos = System.nanoTime();
+        List<Reservation> chunk = new ArrayList<>(chunkSize);
+        int imported = 0;
+        int skipped = 0;
+
+        while (reservations.hasNext()) {
+            Reservation reservation = reservations.next();
+            if (!isValid(reservation)) {
+                skipped++;
+                continue;
+            }
+            // Ids from the source system would turn every insert into a select-then-merge
+            reservation.setId(null);
+            chunk.add(reservation);
+            if (chunk.size() == chunkSize) {
+                imported += write(chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += write(chunk);
+        }
+
+        long elapsedNanos = Math.max(System.nanoTime() - startNanos, 1);
+        return new ReservationImportResult(imported, skipped, elapsedNanos / 1_000_000,
+                imported / (elapsedNanos / 1_000_000_000.0));
+    }
+
+    private int write(List<Reservation> chunk) {
+        transactionTemplate.executeWithoutResult(status -> {
+            reservationRepository.saveAll(chunk);
+            entityManager.flush();
+            entityManager.clear();
+        });
+        chunk.forEach(availabilityService::book);
+        return chunk.size();
+    }
+
+    private static boolean isValid(Reservation reservation) {
+        return reservation != null
+                && reservation.getRestaurantId() != null
+                && reservation.getReservationName() != null
+                && reservation.getGuestCount() != null && reservation.getGuestCount() > 0
+                && reservation.getStartTime() != null
+                && reservation.getEndTime() != null
+                && reservation.getEndTime().isAfter(reservation.getStartTime())
+                && AvailabilityService.fitsMaxWindow(reservation.getStartTime(), reservation.getEndTime());
+    }
+}
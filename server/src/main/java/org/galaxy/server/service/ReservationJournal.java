@@ -0,0 +1,341 @@
+package org.galaxy.server.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.galaxy.server.model.JournalCheckpoint;
+import org.galaxy.server.model.Reservation;
+import org.galaxy.server.repository.JournalCheckpointRepository;
+import org.galaxy.server.repository.ReservationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional write-behind path for new reservations ({@code app.reservations.journal.enabled}).
+ * <p>
+ * Instead of a database commit per request, reservations are appended to a local journal file,
+ * one JSON line each, and acknowledged once the file has been forced to disk. A single writer
+ * thread takes every append queued while the previous force was running and writes them with
+ * one shared force, so concurrent requests pay for one disk sync between them (group commit).
+ * A drain thread then copies journaled reservations into the database in batches, recording the
+ * highest drained sequence number in a {@link JournalCheckpoint} within the same transaction.
+ * <p>
+ * At startup every entry above the checkpoint is written to the database before requests are
+ * served, so acknowledged reservations survive a crash. The file is emptied whenever everything
+ * in it has been drained. Until then, journaled reservations count towards availability but do
+ * not yet show up in reservation lists.
+ * <p>
+ * If a write fails, the bytes of the failed group are cut off again so none of its entries can be
+ * replayed, and the journal stops taking appends: the failed group and every later append fail
+ * until restart. A failed append therefore never becomes a reservation.
+ */
+@Component
+public class ReservationJournal {
+
+    private static final String JOURNAL_NAME = "reservations";
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    private final boolean enabled;
+    private final Path file;
+    private final int drainBatchSize;
+    private final ObjectMapper objectMapper;
+    private final ReservationRepository reservationRepository;
+    private final JournalCheckpointRepository checkpointRepository;
+    private final AvailabilityService availabilityService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<PendingAppend> appends = new LinkedBlockingQueue<>();
+    private final BlockingQueue<JournalEntry> undrained = new LinkedBlockingQueue<>();
+    private final Object fileLock = new Object();
+
+    private FileChannel channel;
+    private long nextSequence;
+    private volatile long appendedSequence;
+    private volatile long drainedSequence;
+    private volatile boolean running;
+    private volatile Throwable failure;
+    private Thread writer;
+    private Thread drainer;
+
+    public ReservationJournal(
+            @Value("${app.reservations.journal.enabled:false}") boolean enabled,
+            @Value("${app.reservations.journal.file:./data/reservations.journal}") String file,
+            @Value("${app.reservations.journal.drain-batch-size:500}") int drainBatchSize,
+            ObjectMapper objectMapper,
+            ReservationRepository reservationRepository,
+            JournalCheckpointRepository checkpointRepository,
+            AvailabilityService availabilityService,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.enabled = enabled;
+        this.file = Path.of(file);
+        this.drainBatchSize = drainBatchSize;
+        this.objectMapper = objectMapper;
+        this.reservationRepository = reservationRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.availabilityService = availabilityService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * False once a write has failed; appends are refused from then on.
+     */
+    public boolean isHealthy() {
+        return failure == null;
+    }
+
+    /**
+     * Opens the journal and writes any entries the previous run did not drain to the database.
+     * Runs after {@link AvailabilityService} has loaded the drained reservations, so replayed
+     * entries are booked into the calendar here.
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        long checkpoint = checkpointRepository.findById(JOURNAL_NAME).map(JournalCheckpoint::getSequence).orElse(0L);
+        List<JournalEntry> entries = readEntries();
+        long lastSequence = entries.isEmpty() ? 0 : entries.get(entries.size() - 1).sequence();
+        List<JournalEntry> pending = entries.stream().filter(entry -> entry.sequence() > checkpoint).toList();
+
+        nextSequence = Math.max(checkpoint, lastSequence) + 1;
+        appendedSequence = nextSequence - 1;
+        drainedSequence = nextSequence - 1;
+        if (!pending.isEmpty()) {
+            for (int from = 0; from < pending.size(); from += drainBatchSize) {
+                drain(pending.subList(from, Math.min(from + drainBatchSize, pending.size())));
+            }
+            pending.forEach(entry -> availabilityService.book(entry.reservation()));
+        }
+        synchronized (fileLock) {
+            channel.truncate(0);
+            channel.force(true);
+        }
+        System.out.println("Reservation journal " + file + " open, replayed " + pending.size() + " entries.");
+
+        running = true;
+        writer = startThread("reservation-journal-writer", this::writeLoop);
+        drainer = startThread("reservation-journal-drain", this::drainLoop);
+    }
+
+    /**
+     * Queues a copy of the reservation for the journal. The returned future completes once the
+     * entry is on disk, or exceptionally if it could not be written.
+     */
+    public CompletableFuture<Void> append(Reservation reservation) {
+        if (!running) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Reservation journal is not open"));
+        }
+        if (failure != null) {
+            return CompletableFuture.failedFuture(unhealthy());
+        }
+        PendingAppend append = new PendingAppend(copyOf(reservation), new CompletableFuture<>());
+        appends.add(append);
+        return append.durable();
+    }
+
+    @PreDestroy
+    public void close() throws IOException, InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+        drainer.interrupt();
+        drainer.join(TimeUnit.SECONDS.toMillis(5));
+        for (PendingAppend append : appends) {
+            append.durable().completeExceptionally(new IllegalStateException("Reservation journal closed"));
+        }
+        // Entries still undrained stay in the file and are replayed on the next start
+        synchronized (fileLock) {
+            channel.close();
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingAppend> group = new ArrayList<>();
+        while (running) {
+            try {
+                group.add(appends.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            appends.drainTo(group);
+            if (failure != null) {
+                // Appends that got past the check in append() while the failing write ran
+                group.forEach(append -> append.durable().completeExceptionally(unhealthy()));
+                group.clear();
+                continue;
+            }
+
+            List<JournalEntry> written = new ArrayList<>(group.size());
+            long groupStart = -1;
+            try {
+                ByteArrayOutputStream lines = new ByteArrayOutputStream(256 * group.size());
+                for (PendingAppend append : group) {
+                    JournalEntry entry = new JournalEntry(nextSequence + written.size(), append.reservation());
+                    lines.write(objectMapper.writeValueAsBytes(entry));
+                    lines.write('\n');
+                    written.add(entry);
+                }
+                synchronized (fileLock) {
+                    ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+                    groupStart = channel.size();
+                    long position = groupStart;
+                    while (buffer.hasRemaining()) {
+                        position += channel.write(buffer, position);
+                    }
+                    channel.force(false);
+                    appendedSequence = nextSequence + written.size() - 1;
+                }
+                nextSequence += written.size();
+                undrained.addAll(written);
+                group.forEach(append -> append.durable().complete(null));
+            } catch (Throwable e) {
+                System.err.println("Could not write reservation journal " + file + ", refusing further appends: " + e);
+                failure = e;
+                discardFrom(groupStart);
+                group.forEach(append -> append.durable().completeExceptionally(e));
+            }
+            group.clear();
+        }
+    }
+
+    /**
+     * Cuts off whatever part of a failed group reached the file, so that appends reported as
+     * failed are not replayed on the next start.
+     */
+    private void discardFrom(long position) {
+        if (position < 0) {
+            return;
+        }
+        try {
+            synchronized (fileLock) {
+                channel.truncate(position);
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not discard the failed write from reservation journal " + file
+                    + "; its entries may be replayed on restart: " + e.getMessage());
+        }
+    }
+
+    private IllegalStateException unhealthy() {
+        return new IllegalStateException("Reservation journal is unhealthy after a failed write", failure);
+    }
+
+    private void drainLoop() {
+        List<JournalEntry> batch = new ArrayList<>();
+        while (running) {
+            try {
+                if (batch.isEmpty()) {
+                    batch.add(undrained.take());
+                    undrained.drainTo(batch, drainBatchSize - 1);
+                }
+                drain(batch);
+                batch.clear();
+                truncateIfDrained();
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException | IOException e) {
+                // Keep the batch and try again; the entries are safe in the journal meanwhile
+                System.err.println("Could not drain reservation journal, retrying: " + e.getMessage());
+                try {
+                    Thread.sleep(RETRY_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Saves the batch and advances the checkpoint in one transaction. Every attempt saves fresh
+     * copies: a rolled-back attempt has already given its entities ids, and saving those again
+     * would be taken as an update of rows that do not exist.
+     */
+    private void drain(List<JournalEntry> batch) {
+        List<Reservation> reservations = batch.stream().map(entry -> copyOf(entry.reservation())).toList();
+        long sequence = batch.get(batch.size() - 1).sequence();
+        transactionTemplate.executeWithoutResult(status -> {
+            reservationRepository.saveAll(reservations);
+            checkpointRepository.save(new JournalCheckpoint(JOURNAL_NAME, sequence));
+        });
+        drainedSequence = sequence;
+    }
+
+    private void truncateIfDrained() throws IOException {
+        synchronized (fileLock) {
+            // The writer advances appendedSequence under this lock, so nothing undrained is cut off
+            if (drainedSequence == appendedSequence && channel.size() > 0) {
+                channel.truncate(0);
+                channel.force(false);
+            }
+        }
+    }
+
+    /**
+     * Reads every complete entry from the file. A line cut short by a crash mid-write was never
+     * acknowledged, so it and anything after it are discarded.
+     */
+    private List<JournalEntry> readEntries() throws IOException {
+        byte[] content = Files.readAllBytes(file);
+        List<JournalEntry> entries = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < content.length; i++) {
+            if (content[i] != '\n') continue;
+            String line = new String(content, start, i - start, StandardCharsets.UTF_8);
+            try {
+                entries.add(objectMapper.readValue(line, JournalEntry.class));
+            } catch (IOException e) {
+                System.err.println("Ignoring damaged reservation journal entry at byte " + start + " of " + file);
+                break;
+            }
+            start = i + 1;
+        }
+        return entries;
+    }
+
+    private static Reservation copyOf(Reservation reservation) {
+        return new Reservation(null, reservation.getRestaurantId(), reservation.getReservationName(),
+                reservation.getGuestCount(), reservation.getStartTime(), reservation.getEndTime());
+    }
+
+    private static Thread startThread(String name, Runnable loop) {
+        Thread thread = new Thread(loop, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    record JournalEntry(long sequence, Reservation reservation) {}
+
+    private record PendingAppend(Reservation reservation, CompletableFuture<Void> durable) {}
+}
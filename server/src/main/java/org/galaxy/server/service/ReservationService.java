@@ -1,22 +1,54 @@
 package org.galaxy.server.service;
 
 import org.antlr.v4.runtime.misc.NotNull;
+import org.galaxy.server.model.Availability;
 import org.galaxy.server.model.Reservation;
+import org.galaxy.server.model.ReservationCursor;
 import org.galaxy.server.repository.ReservationRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Service class for managing restaurant reservations.
+ * <p>
+ * Bookings for one restaurant are serialized on a lock picked by restaurant id from a fixed set
+ * of stripes, so the capacity check and the save cannot interleave with another booking for the
+ * same restaurant, while bookings for restaurants on other stripes proceed in parallel.
+ * The lock is in-process, so this holds for a single server instance.
+ * <p>
+ * With the {@link ReservationJournal} enabled, new reservations are acknowledged once journaled
+ * and reach the database shortly after; the seats are taken in the calendar right away.
  */
 @Service
 public class ReservationService {
+
+    static final int LOCK_STRIPES = 64;
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    // Bounds for pages without a time range; both fit the SQL TIMESTAMP range
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
     private final ReservationRepository reservationRepository;
+    private final AvailabilityService availabilityService;
+    private final ReservationJournal reservationJournal;
+    private final ReentrantLock[] restaurantLocks = new ReentrantLock[LOCK_STRIPES];
 
-    public ReservationService(ReservationRepository reservationRepository) {
+    public ReservationService(ReservationRepository reservationRepository, AvailabilityService availabilityService,
+                              ReservationJournal reservationJournal) {
         this.reservationRepository = reservationRepository;
+        this.availabilityService = availabilityService;
+        this.reservationJournal = reservationJournal;
+        for (int i = 0; i < restaurantLocks.length; i++) {
+            restaurantLocks[i] = new ReentrantLock();
+        }
     }
 
     public List<Reservation> getReservationsByRestaurantId(Integer restaurantId){
@@ -27,11 +59,89 @@ public class ReservationService {
         return reservationRepository.findByRestaurantIdAndStartTimeBetween(restaurantId, startTime, startTime2);
     }
 
+    /**
+     * Returns up to {@code limit} reservations of a restaurant in start time order, optionally
+     * restricted to those starting between {@code startTime} and {@code endTime}, resuming after
+     * {@code cursor} when given. Each page costs the same however much history precedes it.
+     */
+    public List<Reservation> getReservationsPage(Integer restaurantId, LocalDateTime startTime, LocalDateTime endTime,
+                                                 ReservationCursor cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        LocalDateTime from = startTime == null ? EARLIEST : startTime;
+        LocalDateTime to = endTime == null ? LATEST : endTime;
+        long afterId = 0;
+        // A cursor before the requested range would resume outside it, so start at the range instead
+        if (cursor != null && !cursor.startTime().isBefore(from)) {
+            from = cursor.startTime();
+            afterId = cursor.id();
+        }
+        return reservationRepository.findPage(restaurantId, from, to, afterId, Limit.of(pageSize));
+    }
+
+    /**
+     * Whether {@link #createReservation} acknowledges from the journal instead of the database.
+     */
+    public boolean isJournaled() {
+        return reservationJournal.isEnabled();
+    }
+
+    /**
+     * Saves the reservation if the restaurant still has enough seats for the whole time window.
+     * In journal mode the returned reservation has no id yet.
+     *
+     * @throws ReservationConflictException if the seats are taken
+     * @throws JournalUnavailableException if journal mode is on and the journal could not take it
+     */
     public Reservation createReservation(Reservation reservation) {
-        Reservation temp = reservation;
         if(reservation.getRestaurantId() == null || reservation.getReservationName() == null || reservation.getGuestCount() == null || reservation.getStartTime() == null || reservation.getEndTime() == null){
             throw new IllegalArgumentException("Reservation must have all required fields");
         }
-        return reservationRepository.save(reservation);
+        if(reservation.getGuestCount() <= 0 || !reservation.getEndTime().isAfter(reservation.getStartTime())){
+            throw new IllegalArgumentException("Reservation needs at least one guest and an end time after its start time");
+        }
+        if(!AvailabilityService.fitsMaxWindow(reservation.getStartTime(), reservation.getEndTime())){
+            throw new IllegalArgumentException("Reservation may last at most " + AvailabilityService.MAX_WINDOW.toHours() + " hours");
+        }
+
+        ReentrantLock lock = restaurantLocks[Math.floorMod(reservation.getRestaurantId(), LOCK_STRIPES)];
+        CompletableFuture<Void> journaled;
+        lock.lock();
+        try {
+            Availability availability = availabilityService.check(reservation.getRestaurantId(),
+                    reservation.getStartTime(), reservation.getEndTime(), reservation.getGuestCount());
+            if (!availability.available()) {
+                throw new ReservationConflictException(String.format(
+                        "Restaurant %d has only %d seats left between %s and %s",
+                        reservation.getRestaurantId(), availability.seatsLeft(),
+                        reservation.getStartTime(), reservation.getEndTime()));
+            }
+            if (!isJournaled()) {
+                Reservation saved = reservationRepository.save(reservation);
+                availabilityService.book(saved);
+                return saved;
+            }
+            // Hold the seats before letting go of the lock; the wait for the disk happens outside it
+            availabilityService.book(reservation);
+            journaled = reservationJournal.append(reservation);
+        } finally {
+            lock.unlock();
+        }
+
+        // No timeout: giving up early would report a failure for an entry that may still be
+        // written and replayed, and a client retrying it would book twice
+        try {
+            journaled.join();
+        } catch (CompletionException e) {
+            availabilityService.release(reservation);
+            throw new JournalUnavailableException("Could not journal reservation", e.getCause());
+        }
+        return reservation;
+    }
+
+    public Availability checkAvailability(Integer restaurantId, LocalDateTime startTime, LocalDateTime endTime, Integer guestCount) {
+        return availabilityService.check(restaurantId, startTime, endTime, guestCount);
     }
 }
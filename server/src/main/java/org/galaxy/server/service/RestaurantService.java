@@ -1,14 +1,30 @@
 package org.galaxy.server.service;
 
 import org.galaxy.server.config.DataLoader;
+import org.galaxy.server.index.FacetCounter;
+import org.galaxy.server.index.GeoIndex;
+import org.galaxy.server.index.QueryPlanner;
+import org.galaxy.server.index.RestaurantIndex;
+import org.galaxy.server.index.SearchPlan;
+import org.galaxy.server.index.TopKSelector;
 import org.galaxy.server.model.Restaurant;
-import org.galaxy.server.model.RestaurantComparator;
 import org.galaxy.server.model.RestaurantSearchOptions;
+import org.galaxy.server.model.SearchFacets;
+import org.galaxy.server.model.SearchCursor;
+import org.galaxy.server.model.SortMode;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.PriorityQueue;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Service class for searching and managing restaurant data.
@@ -16,30 +32,321 @@ import java.util.PriorityQueue;
 @Service
 public class RestaurantService {
 
+    // Rows filter that keeps every row, letting the scans skip the per-row check entirely
+    private static final IntPredicate ANY_ROW = row -> true;
+
     private final DataLoader dataLoader;
+    private final SearchResultCache searchResultCache;
+    private final ParallelTopKSearch parallelTopKSearch;
+    private final AvailabilityService availabilityService;
 
-    public RestaurantService(DataLoader dataLoader) {
+    public RestaurantService(DataLoader dataLoader, SearchResultCache searchResultCache,
+                             ParallelTopKSearch parallelTopKSearch, AvailabilityService availabilityService) {
         this.dataLoader = dataLoader;
+        this.searchResultCache = searchResultCache;
+        this.parallelTopKSearch = parallelTopKSearch;
+        this.availabilityService = availabilityService;
     }
 
     public List<Restaurant> advancedSearch(RestaurantSearchOptions options) {
-        PriorityQueue<Restaurant> queue = new PriorityQueue<>(new RestaurantComparator());
-        int limit = options.getLimit() == null ? 5 : options.getLimit();
+        RestaurantIndex index = dataLoader.getIndex();
+        RestaurantSearchOptions key = options.normalized();
+        validateLocation(key);
+        return searchResultCache.get(index.version(), key, () -> search(index, key));
+    }
+
+    /**
+     * Returns the best restaurants matching {@code options}, ranked as {@link #advancedSearch}
+     * ranks them, keeping only those with room for {@code guestCount} guests for the whole
+     * window. Availability is checked inside the scan, against the in-memory calendar, and only
+     * for rows that already pass the other filters and would make the top {@code limit}, so the
+     * answer costs no reservation queries. Results are not cached since every booking changes them.
+     */
+    public List<Restaurant> searchAvailable(RestaurantSearchOptions options, LocalDateTime startTime,
+                                            LocalDateTime endTime, Integer guestCount) {
+        RestaurantIndex index = dataLoader.getIndex();
+        RestaurantSearchOptions key = options.normalized();
+        validateLocation(key);
+        IntPredicate canSeat = availabilityService.canSeat(startTime, endTime, guestCount);
+        IntPredicate bookable = row -> canSeat.test(index.row(row).getId());
+        if (key.hasLocation()) {
+            return searchNearest(index, key, bookable);
+        }
+
+        BitSet candidates = QueryPlanner.plan(index, key).execute();
+        int matches = candidates.cardinality();
+        int limit = Math.min(key.getLimit(), matches);
+        if (limit <= 0) {
+            return List.of();
+        }
+        boolean walk = (long) limit * index.size() <= (long) matches * matches;
+        int[] rows = walk
+                ? walkSortOrder(index, key, candidates, limit, bookable)
+                : selectTopK(index, key, candidates, limit, bookable);
+        return toRestaurants(index, rows);
+    }
+
+    /**
+     * Returns the results {@link #advancedSearch} would give as a lazy stream in ranked order.
+     * Rows are produced one at a time by walking the presorted order of the requested sort
+     * mode, so nothing proportional to the limit is held in memory and the cache is bypassed.
+     * Location searches are the exception: their nearest hits are collected before streaming.
+     */
+    public Stream<Restaurant> streamSearch(RestaurantSearchOptions options) {
+        RestaurantIndex index = dataLoader.getIndex();
+        RestaurantSearchOptions key = options.normalized();
+        validateLocation(key);
+        if (key.hasLocation()) {
+            return searchNearest(index, key, ANY_ROW).stream();
+        }
+
+        BitSet candidates = QueryPlanner.plan(index, key).execute();
+        SortMode sort = key.getSort();
+        int start = key.getCursor() == null ? 0 : index.positionAfter(sort, key.getCursor());
+        return IntStream.range(start, index.size())
+                .map(position -> index.orderedRow(sort, position))
+                .filter(candidates::get)
+                .limit(Math.max(key.getLimit(), 0))
+                .mapToObj(index::row);
+    }
+
+    /**
+     * Evaluates several searches against one snapshot and returns their results in request order.
+     * Cached and duplicate queries are answered once; the rest share a single scan over the union
+     * of their candidate rows, each keeping its own bounded top-K heap.
+     */
+    public List<List<Restaurant>> batchSearch(List<RestaurantSearchOptions> batch) {
+        RestaurantIndex index = dataLoader.getIndex();
+        long version = index.version();
+        List<RestaurantSearchOptions> keys = batch.stream().map(RestaurantSearchOptions::normalized).toList();
+        keys.forEach(RestaurantService::validateLocation);
+
+        Map<RestaurantSearchOptions, List<Restaurant>> results = new HashMap<>();
+        Map<RestaurantSearchOptions, BatchQuery> pending = new LinkedHashMap<>();
+        for (RestaurantSearchOptions key : keys) {
+            if (results.containsKey(key) || pending.containsKey(key)) continue;
+
+            List<Restaurant> cached = searchResultCache.getIfPresent(version, key);
+            if (cached != null) {
+                results.put(key, cached);
+            } else if (key.hasLocation()) {
+                results.put(key, searchResultCache.put(version, key, searchNearest(index, key, ANY_ROW)));
+            } else {
+                pending.put(key, new BatchQuery(index, key));
+            }
+        }
+
+        BitSet union = new BitSet(index.size());
+        for (BatchQuery query : pending.values()) {
+            union.or(query.candidates);
+        }
+        BatchQuery[] queries = pending.values().toArray(new BatchQuery[0]);
+        for (int row = union.nextSetBit(0); row >= 0; row = union.nextSetBit(row + 1)) {
+            for (BatchQuery query : queries) {
+                query.offer(row);
+            }
+        }
+
+        pending.forEach((key, query) -> results.put(key, searchResultCache.put(version, key, query.results())));
+        return keys.stream().map(results::get).toList();
+    }
+
+    /**
+     * Counts the restaurants matching {@code options} per cuisine, price band and rating,
+     * and returns those histograms along with the same results {@link #advancedSearch} gives.
+     */
+    public SearchFacets facets(RestaurantSearchOptions options) {
+        RestaurantIndex index = dataLoader.getIndex();
+        RestaurantSearchOptions key = options.normalized();
+        validateLocation(key);
+
+        BitSet rows = QueryPlanner.plan(index, key.hasLocation() ? key.toBuilder().distance(null).build() : key).execute();
+        if (key.hasLocation()) {
+            BitSet nearby = new BitSet(index.size());
+            for (GeoIndex.Hit hit : index.geoIndex().nearest(
+                    key.getLatitude(), key.getLongitude(), searchRadius(key), rows.cardinality(), rows::get)) {
+                nearby.set(hit.row());
+            }
+            rows = nearby;
+        }
+
+        List<Restaurant> results = searchResultCache.get(index.version(), key, () -> search(index, key));
+        return FacetCounter.count(index, rows, results);
+    }
+
+    /**
+     * Returns the restaurant with the given id, or null. A scan over the catalog, meant for
+     * one-off lookups such as resolving an id the agent remembered.
+     */
+    public Restaurant findById(Integer id) {
+        RestaurantIndex index = dataLoader.getIndex();
+        for (int row = 0; id != null && row < index.size(); row++) {
+            if (index.id(row) == id) {
+                return index.row(row);
+            }
+        }
+        return null;
+    }
+
+    public SearchResultCache.Stats cacheStats() {
+        return searchResultCache.stats();
+    }
+
+    private List<Restaurant> search(RestaurantIndex index, RestaurantSearchOptions options) {
+        if (options.hasLocation()) {
+            return searchNearest(index, options, ANY_ROW);
+        }
+
+        BitSet candidates = QueryPlanner.plan(index, options).execute();
+        int matches = candidates.cardinality();
+        int limit = Math.min(options.getLimit(), matches);
+        if (limit <= 0) {
+            return List.of();
+        }
 
-        dataLoader.getRestaurants().stream()
-                .filter(r -> options.getRating() == null || r.getRating() >= options.getRating())
-                .filter(r -> options.getDistance() == null || r.getDistance() <= options.getDistance())
-                .filter(r -> options.getPrice() == null || r.getPrice() <= options.getPrice())
-                .filter(r -> options.getName() == null || r.getName().toLowerCase().contains(options.getName().toLowerCase()))
-                .filter(r -> options.getCuisine() == null || r.getCuisine().toLowerCase().contains(options.getCuisine().toLowerCase()))
-                .forEach(queue::add);
+        // Walking the presorted order visits about limit * size / matches rows before it has
+        // collected limit matches; when that is more than the matches themselves, select instead.
+        boolean walk = (long) limit * index.size() <= (long) matches * matches;
+        if (!walk && parallelTopKSearch.shouldParallelize(matches)) {
+            return parallelTopKSearch.topK(index, candidates, options.getSort(), options.getCursor(), limit);
+        }
+        int[] rows = walk
+                ? walkSortOrder(index, options, candidates, limit, ANY_ROW)
+                : selectTopK(index, options, candidates, limit, ANY_ROW);
+        return toRestaurants(index, rows);
+    }
 
-        List<Restaurant> res = new ArrayList<>();
-        for(int i = 0; i < limit; i++) {
-            if(!queue.isEmpty()) res.add(queue.poll());
+    private static List<Restaurant> toRestaurants(RestaurantIndex index, int[] rows) {
+        List<Restaurant> res = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            res.add(index.row(row));
         }
         return res;
+    }
+
+    private int[] walkSortOrder(RestaurantIndex index, RestaurantSearchOptions options, BitSet candidates, int limit,
+                                IntPredicate accept) {
+        SortMode sort = options.getSort();
+        SearchCursor cursor = options.getCursor();
+
+        int[] rows = new int[limit];
+        int found = 0;
+        int position = cursor == null ? 0 : index.positionAfter(sort, cursor);
+        for (; position < index.size() && found < limit; position++) {
+            int row = index.orderedRow(sort, position);
+            if (candidates.get(row) && accept.test(row)) {
+                rows[found++] = row;
+            }
+        }
+        return found == limit ? rows : Arrays.copyOf(rows, found);
+    }
+
+    private int[] selectTopK(RestaurantIndex index, RestaurantSearchOptions options, BitSet candidates, int limit,
+                             IntPredicate accept) {
+        SortMode sort = options.getSort();
+        SearchCursor cursor = options.getCursor();
+        TopKSelector selector = new TopKSelector(limit, (row1, row2) -> index.compareRows(sort, row1, row2));
+
+        for (int row = candidates.nextSetBit(0); row >= 0; row = candidates.nextSetBit(row + 1)) {
+            if (cursor != null && !index.isAfter(sort, row, cursor)) continue;
+            // Only rows that would displace a kept row are worth the extra filter
+            if (accept != ANY_ROW && !(selector.wouldAccept(row) && accept.test(row))) continue;
+            selector.offer(row);
+        }
+        return selector.toSortedArray();
+    }
+
+    /**
+     * Ranks restaurants by their actual distance from the requested point. The remaining filters
+     * are applied as bitmaps first, and the k-d tree then visits only the nearest candidates.
+     * The {@code distance} filter and {@code radius} both bound the search radius in miles, and
+     * every result carries its distance from the point rounded to whole miles. Rows failing
+     * {@code accept} are skipped during the tree walk.
+     */
+    private List<Restaurant> searchNearest(RestaurantIndex index, RestaurantSearchOptions options, IntPredicate accept) {
+        BitSet candidates = QueryPlanner.plan(index, options.toBuilder().distance(null).build()).execute();
+        IntPredicate filter = accept == ANY_ROW ? candidates::get : row -> candidates.get(row) && accept.test(row);
+        List<GeoIndex.Hit> hits = index.geoIndex().nearest(
+                options.getLatitude(), options.getLongitude(), searchRadius(options), options.getLimit(), filter);
+
+        List<Restaurant> res = new ArrayList<>(hits.size());
+        for (GeoIndex.Hit hit : hits) {
+            Restaurant r = index.row(hit.row());
+            res.add(new Restaurant(r.getId(), r.getName(), r.getRating(), (int) Math.round(hit.miles()),
+                    r.getPrice(), r.getCuisineId(), r.getCuisine(), r.getLatitude(), r.getLongitude()));
+        }
+        return res;
+    }
+
+    /**
+     * One query of a batch: its candidate rows plus a top-K heap fed by the shared scan.
+     */
+    private static final class BatchQuery {
+        private final RestaurantIndex index;
+        private final BitSet candidates;
+        private final SortMode sort;
+        private final SearchCursor cursor;
+        private final TopKSelector selector;
+
+        BatchQuery(RestaurantIndex index, RestaurantSearchOptions options) {
+            this.index = index;
+            this.candidates = QueryPlanner.plan(index, options).execute();
+            this.sort = options.getSort();
+            this.cursor = options.getCursor();
+            this.selector = new TopKSelector(Math.min(options.getLimit(), candidates.cardinality()),
+                    (row1, row2) -> index.compareRows(sort, row1, row2));
+        }
+
+        void offer(int row) {
+            if (!candidates.get(row)) return;
+            if (cursor != null && !index.isAfter(sort, row, cursor)) return;
+            selector.offer(row);
+        }
+
+        List<Restaurant> results() {
+            List<Restaurant> res = new ArrayList<>(selector.size());
+            for (int row : selector.toSortedArray()) {
+                res.add(index.row(row));
+            }
+            return res;
+        }
+    }
+
+    private static double searchRadius(RestaurantSearchOptions options) {
+        double radius = Double.POSITIVE_INFINITY;
+        if (options.getRadius() != null) radius = options.getRadius();
+        if (options.getDistance() != null) radius = Math.min(radius, options.getDistance());
+        return radius;
+    }
+
+    private static void validateLocation(RestaurantSearchOptions options) {
+        if ((options.getLatitude() == null) != (options.getLongitude() == null)) {
+            throw new IllegalArgumentException("latitude and longitude must be given together");
+        }
+        if (!options.hasLocation()) {
+            return;
+        }
+        if (!(options.getLatitude() >= -90 && options.getLatitude() <= 90)
+                || !(options.getLongitude() >= -180 && options.getLongitude() <= 180)) {
+            throw new IllegalArgumentException("latitude or longitude out of range");
+        }
+        if (options.getRadius() != null && !(options.getRadius() >= 0)) {
+            throw new IllegalArgumentException("radius must not be negative");
+        }
+        if (options.getCursor() != null) {
+            throw new IllegalArgumentException("cursor paging is not supported for location searches");
+        }
+        if (options.getSort() != null && options.getSort() != SortMode.DISTANCE) {
+            throw new IllegalArgumentException("location searches are always ranked by distance");
+        }
+    }
 
+    /**
+     * Returns the filter stages {@link #advancedSearch} would run for {@code options},
+     * in execution order, with their estimated row counts.
+     */
+    public List<SearchPlan.Step> explain(RestaurantSearchOptions options) {
+        return QueryPlanner.plan(dataLoader.getIndex(), options.normalized()).explain();
     }
 
 }
@@ -0,0 +1,122 @@
+package org.galaxy.server.service;
+
+import org.galaxy.server.model.Restaurant;
+import org.galaxy.server.model.RestaurantSearchOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of advanced search results keyed by normalized {@link RestaurantSearchOptions}.
+ * Entries expire after a fixed time-to-live, and the whole cache is dropped as soon as a
+ * lookup arrives for a newer dataset version than the one it was filled from.
+ */
+@Component
+public class SearchResultCache {
+
+    /**
+     * Snapshot of the cache counters exposed for monitoring.
+     */
+    public record Stats(long hits, long misses, double hitRate, long evictions, int size, long datasetVersion) {}
+
+    private record Entry(List<Restaurant> results, long expiresAtNanos) {}
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Map<RestaurantSearchOptions, Entry> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private long datasetVersion = -1;
+
+    public SearchResultCache(
+            @Value("${app.search.cache.max-entries:1000}") int maxEntries,
+            @Value("${app.search.cache.ttl:PT5M}") Duration ttl
+    ) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RestaurantSearchOptions, Entry> eldest) {
+                boolean evict = size() > SearchResultCache.this.maxEntries;
+                if (evict) evictions.increment();
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached results for {@code key}, computing them with {@code loader} on a miss.
+     * The loader runs outside the cache lock so concurrent misses do not serialize.
+     */
+    public List<Restaurant> get(long version, RestaurantSearchOptions key, Supplier<List<Restaurant>> loader) {
+        List<Restaurant> cached = getIfPresent(version, key);
+        if (cached != null) {
+            return cached;
+        }
+        return put(version, key, loader.get());
+    }
+
+    /**
+     * Returns the cached results for {@code key}, or null (counted as a miss) when there are none.
+     */
+    public List<Restaurant> getIfPresent(long version, RestaurantSearchOptions key) {
+        if (maxEntries > 0) {
+            long now = System.nanoTime();
+            synchronized (this) {
+                if (version > datasetVersion) {
+                    entries.clear();
+                    datasetVersion = version;
+                }
+                // A search still running against an older snapshot bypasses the cache.
+                Entry entry = version == datasetVersion ? entries.get(key) : null;
+                if (entry != null) {
+                    if (now - entry.expiresAtNanos() < 0) {
+                        hits.increment();
+                        return entry.results();
+                    }
+                    entries.remove(key);
+                    evictions.increment();
+                }
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Stores an immutable copy of {@code results} computed against dataset {@code version}
+     * and returns that copy.
+     */
+    public List<Restaurant> put(long version, RestaurantSearchOptions key, List<Restaurant> results) {
+        List<Restaurant> copy = List.copyOf(results);
+        if (maxEntries <= 0) {
+            return copy;
+        }
+        synchronized (this) {
+            // A reload may have happened while loading; never store results under a newer version.
+            if (version == datasetVersion) {
+                entries.put(key, new Entry(copy, System.nanoTime() + ttlNanos));
+            }
+        }
+        return copy;
+    }
+
+    public synchronized void invalidate() {
+        entries.clear();
+    }
+
+    public synchronized Stats stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        double hitRate = total == 0 ? 0.0 : (double) hitCount / total;
+        return new Stats(hitCount, missCount, hitRate, evictions.sum(), entries.size(), datasetVersion);
+    }
+}
@@ -1,6 +1,7 @@
 package org.galaxy.server.agent;
 
 import org.galaxy.server.agent.dto.*;
+import org.galaxy.server.agent.tools.CheckAvailabilityTool;
 import org.galaxy.server.agent.tools.RestaurantSearchTool;
 import org.junit.jupiter.api.Test;
 import org.springframework.ai.chat.messages.AssistantMessage;
@@ -24,7 +25,8 @@ class AgentOrchestratorTest {
     void handle_NonTransientAiException_ReturnsFormattedMessage() {
         ChatModel chatModel = mock(ChatModel.class);
         RestaurantSearchTool searchTool = mock(RestaurantSearchTool.class);
-        AgentOrchestrator orchestrator = new AgentOrchestrator(chatModel, searchTool, "Default", "UTC");
+        CheckAvailabilityTool availabilityTool = mock(CheckAvailabilityTool.class);
+        AgentOrchestrator orchestrator = new AgentOrchestrator(chatModel, searchTool, availabilityTool, "Default", "UTC");
 
         String rawErrorMessage = "HTTP 401 - {\n" +
                 "    \"error\": {\n" +
@@ -46,9 +48,10 @@ class AgentOrchestratorTest {
     void handle_SearchIntent_CallsSearchTool() {
         ChatModel chatModel = mock(ChatModel.class);
         RestaurantSearchTool searchTool = mock(RestaurantSearchTool.class);
+        CheckAvailabilityTool availabilityTool = mock(CheckAvailabilityTool.class);
 
         AgentOrchestrator orchestrator =
-                new AgentOrchestrator(chatModel, searchTool, "Default", "UTC");
+                new AgentOrchestrator(chatModel, searchTool, availabilityTool, "Default", "UTC");
 
         // Mock intent classification response
         ChatResponse chatResponse = mock(ChatResponse.class);
@@ -79,4 +82,29 @@ class AgentOrchestratorTest {
         assertEquals(List.of(1, 2, 3), response.context().lastRestaurantIds());
     }
 
+    @Test
+    void handle_AvailabilityIntent_CallsAvailabilityTool() {
+        ChatModel chatModel = mock(ChatModel.class);
+        RestaurantSearchTool searchTool = mock(RestaurantSearchTool.class);
+        CheckAvailabilityTool availabilityTool = mock(CheckAvailabilityTool.class);
+
+        AgentOrchestrator orchestrator =
+                new AgentOrchestrator(chatModel, searchTool, availabilityTool, "Default", "UTC");
+
+        ChatResponse chatResponse = mock(ChatResponse.class);
+        Generation generation = new Generation(new AssistantMessage("AVAILABILITY"));
+        when(chatResponse.getResult()).thenReturn(generation);
+        when(chatModel.call(any(Prompt.class))).thenReturn(chatResponse);
+
+        String message = "is there a table for 4 there tomorrow at 7pm?";
+        when(availabilityTool.checkAvailability(message, List.of(1, 2)))
+                .thenReturn("Sorry, Pasta Place cannot seat 4 guests");
+
+        AgentChatResponse response = orchestrator.handle(message,
+                new ConversationContext(AgentIntent.SEARCH, List.of(1, 2), null));
+
+        assertEquals("Sorry, Pasta Place cannot seat 4 guests", response.reply());
+        assertEquals(AgentIntent.AVAILABILITY, response.context().lastIntent());
+        assertEquals(List.of(1, 2), response.context().lastRestaurantIds());
+    }
 }
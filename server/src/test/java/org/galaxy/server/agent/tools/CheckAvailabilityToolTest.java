@@ -0,0 +1,92 @@
+package org.galaxy.server.agent.tools;
+
+import org.galaxy.server.model.Reservation;
+import org.galaxy.server.model.Restaurant;
+import org.galaxy.server.model.RestaurantSearchOptions;
+import org.galaxy.server.repository.ReservationRepository;
+import org.galaxy.server.service.AvailabilityService;
+import org.galaxy.server.service.ReservationJournal;
+import org.galaxy.server.service.ReservationService;
+import org.galaxy.server.service.RestaurantService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CheckAvailabilityToolTest {
+
+    private static final LocalDateTime DINNER = LocalDateTime.of(2030, 1, 10, 19, 0);
+    private static final Restaurant PASTA_PLACE = new Restaurant(7, "Pasta Place", 4, 2, 20, 1, "Italian");
+
+    private ChatModel chatModel;
+    private ReservationService reservationService;
+    private CheckAvailabilityTool tool;
+
+    @BeforeEach
+    void setUp() {
+        ReservationRepository reservationRepository = mock(ReservationRepository.class);
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        AvailabilityService availabilityService = new AvailabilityService(reservationRepository, 10, Duration.ofHours(1));
+        reservationService = new ReservationService(reservationRepository, availabilityService,
+                mock(ReservationJournal.class));
+
+        RestaurantService restaurantService = mock(RestaurantService.class);
+        when(restaurantService.advancedSearch(any(RestaurantSearchOptions.class))).thenReturn(List.of(PASTA_PLACE));
+        when(restaurantService.findById(7)).thenReturn(PASTA_PLACE);
+
+        chatModel = mock(ChatModel.class);
+        tool = new CheckAvailabilityTool(reservationService, restaurantService, chatModel, "UTC");
+    }
+
+    @Test
+    void testReportsRoomWhenSlotIsFree() {
+        answer("{\"restaurantName\": \"Pasta Place\", \"startTime\": \"2030-01-10T19:00:00\", \"guestCount\": 4}");
+
+        String reply = tool.checkAvailability("table for 4 at Pasta Place on Jan 10 2030 at 7pm?", null);
+
+        assertEquals("Pasta Place has room for 4 guests at 2030-01-10T19:00 (10 seats left).", reply);
+    }
+
+    @Test
+    void testReportsConflictWithBookedSlot() {
+        reservationService.createReservation(Reservation.builder()
+                .restaurantId(7)
+                .reservationName("Party")
+                .guestCount(8)
+                .startTime(DINNER.minusMinutes(30))
+                .endTime(DINNER.plusMinutes(30))
+                .build());
+        answer("{\"restaurantName\": null, \"startTime\": \"2030-01-10T19:00:00\", \"guestCount\": 4}");
+
+        // No name in the message, so the first restaurant of the previous search is checked
+        String reply = tool.checkAvailability("can they seat 4 at 7pm on Jan 10 2030?", List.of(7, 8));
+
+        assertEquals("Sorry, Pasta Place cannot seat 4 guests at 2030-01-10T19:00; only 2 seats are left.", reply);
+    }
+
+    @Test
+    void testAsksForMissingDetails() {
+        answer("{\"restaurantName\": \"Pasta Place\", \"startTime\": null, \"guestCount\": null}");
+
+        assertEquals("For what time and how many guests should I check Pasta Place?",
+                tool.checkAvailability("is Pasta Place free?", null));
+    }
+
+    private void answer(String json) {
+        ChatResponse chatResponse = mock(ChatResponse.class);
+        when(chatResponse.getResult()).thenReturn(new Generation(new AssistantMessage(json)));
+        when(chatModel.call(any(Prompt.class))).thenReturn(chatResponse);
+    }
+}
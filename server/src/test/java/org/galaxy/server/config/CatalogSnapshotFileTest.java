@@ -0,0 +1,55 @@
+package org.galaxy.server.config;
+
+import org.galaxy.server.model.Restaurant;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CatalogSnapshotFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final List<Restaurant> restaurants = List.of(
+            new Restaurant(1, "Deliciousgenix", 4, 1, 10, 11, "Spanish", 40.758, -73.9855),
+            new Restaurant(2, "Cuts Delicious", 3, 9, 25, 8, "Korean"),
+            new Restaurant(3, "Fine Delicious", 4, 5, 45, 11, "Spanish")
+    );
+
+    @Test
+    void testRoundTripRestoresEveryColumn() throws Exception {
+        Path path = tempDir.resolve("catalog.snapshot");
+        CatalogSnapshotFile.write(path, "v1", restaurants);
+
+        List<Restaurant> restored = CatalogSnapshotFile.read(path, "v1").orElseThrow();
+
+        assertEquals(restaurants, restored);
+    }
+
+    @Test
+    void testStaleFingerprintIsIgnored() throws Exception {
+        Path path = tempDir.resolve("catalog.snapshot");
+        CatalogSnapshotFile.write(path, "v1", restaurants);
+
+        assertTrue(CatalogSnapshotFile.read(path, "v2").isEmpty());
+    }
+
+    @Test
+    void testMissingOrTruncatedSnapshotIsIgnored() throws Exception {
+        Path path = tempDir.resolve("catalog.snapshot");
+        assertTrue(CatalogSnapshotFile.read(path, "v1").isEmpty());
+
+        CatalogSnapshotFile.write(path, "v1", restaurants);
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length / 2));
+
+        assertTrue(CatalogSnapshotFile.read(path, "v1").isEmpty());
+    }
+}
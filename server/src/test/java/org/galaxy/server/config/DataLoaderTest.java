@@ -1,5 +1,6 @@
 package org.galaxy.server.config;
 
+import org.galaxy.server.index.RestaurantIndex;
 import org.galaxy.server.model.Restaurant;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -35,4 +36,20 @@ class DataLoaderTest {
         assertEquals(11, firstRestaurant.getCuisineId());
         assertEquals("Spanish", firstRestaurant.getCuisine(), "Cuisine ID 11 should map to 'Spanish'");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Reload should publish a new snapshot without touching the previous one")
+    void testReload_PublishesNewSnapshot() {
+        DataLoader loader = new DataLoader();
+        loader.loadData();
+        RestaurantIndex before = loader.getIndex();
+
+        RestaurantIndex after = loader.reload().join();
+
+        assertSame(after, loader.getIndex());
+        assertNotSame(before, after);
+        assertEquals(before.version() + 1, after.version());
+        assertEquals(before.size(), after.size());
+        assertFalse(before.restaurants().isEmpty(), "Previous snapshot must stay intact");
+    }
+}
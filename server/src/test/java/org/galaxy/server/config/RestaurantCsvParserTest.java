@@ -0,0 +1,99 @@
+package org.galaxy.server.config;
+
+import org.galaxy.server.model.Restaurant;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RestaurantCsvParserTest {
+
+    private final Map<Integer, String> cuisines = Map.of(11, "Spanish", 8, "Korean");
+
+    @Test
+    void testParsesColumnsAndSkipsBadLines() {
+        String csv = """
+                id,name,customer_rating,distance,price,cuisine_id
+                1, Deliciousgenix ,4,1,10,11
+                2,Cuts Delicious,3,9,25,8\r
+
+                3,Broken,four,1,10,11
+                4,Too Short,1
+                5,Unknown Cuisine,2,3,30,99
+                """;
+
+        RestaurantCsvParser.Result result = RestaurantCsvParser.parse(csv.getBytes(StandardCharsets.UTF_8), cuisines);
+
+        assertEquals(3, result.restaurants().size());
+        assertEquals(2, result.skippedLines());
+
+        Restaurant first = result.restaurants().get(0);
+        assertEquals(1, first.getId());
+        assertEquals("Deliciousgenix", first.getName());
+        assertEquals(4, first.getRating());
+        assertEquals(1, first.getDistance());
+        assertEquals(10, first.getPrice());
+        assertEquals("Spanish", first.getCuisine());
+        assertEquals("Korean", result.restaurants().get(1).getCuisine());
+        assertEquals("Unknown", result.restaurants().get(2).getCuisine());
+    }
+
+    @Test
+    void testReadsOptionalCoordinates() {
+        String csv = """
+                id,name,customer_rating,distance,price,cuisine_id,latitude,longitude
+                1,Deliciousgenix,4,1,10,11,40.758,-73.9855
+                2,Cuts Delicious,3,9,25,8,,
+                """;
+
+        RestaurantCsvParser.Result result = RestaurantCsvParser.parse(csv.getBytes(StandardCharsets.UTF_8), cuisines);
+
+        assertEquals(2, result.restaurants().size());
+        assertEquals(40.758, result.restaurants().get(0).getLatitude(), 1e-9);
+        assertEquals(-73.9855, result.restaurants().get(0).getLongitude(), 1e-9);
+        assertNull(result.restaurants().get(1).getLatitude());
+        assertNull(result.restaurants().get(1).getLongitude());
+    }
+
+    @Test
+    void testLargeInputKeepsFileOrderAcrossChunks() {
+        StringBuilder csv = new StringBuilder("id,name,customer_rating,distance,price,cuisine_id\n");
+        int rows = 50_000;
+        for (int i = 0; i < rows; i++) {
+            csv.append(i).append(",Restaurant ").append(i).append(",3,2,20,8\n");
+        }
+
+        RestaurantCsvParser.Result result = RestaurantCsvParser.parse(csv.toString().getBytes(StandardCharsets.UTF_8), cuisines);
+
+        assertEquals(rows, result.restaurants().size());
+        for (int i = 0; i < rows; i++) {
+            assertEquals(i, result.restaurants().get(i).getId());
+        }
+    }
+
+    @Test
+    void testStreamedInputMatchesInMemoryParseAcrossBlocks() throws Exception {
+        StringBuilder csv = new StringBuilder("id,name,customer_rating,distance,price,cuisine_id\n");
+        int rows = 1_000;
+        for (int i = 0; i < rows; i++) {
+            csv.append(i).append(",Restaurant ").append(i).append(",3,2,20,8\n");
+        }
+        csv.append(rows).append(',').append("Long Name ".repeat(20)).append(",3,2,20,8\n");
+        csv.append("bad line\n");
+        csv.append(rows + 1).append(",No Trailing Newline,3,2,20,11");
+        byte[] data = csv.toString().getBytes(StandardCharsets.UTF_8);
+
+        // Blocks smaller than some lines force the parser to grow a block and carry partial lines
+        RestaurantCsvParser.Result streamed = RestaurantCsvParser.parse(new ByteArrayInputStream(data), cuisines, 64);
+        RestaurantCsvParser.Result inMemory = RestaurantCsvParser.parse(data, cuisines);
+
+        assertEquals(rows + 2, streamed.restaurants().size());
+        assertEquals(1, streamed.skippedLines());
+        assertEquals(inMemory.restaurants(), streamed.restaurants());
+        assertEquals("Spanish", streamed.restaurants().get(rows + 1).getCuisine());
+    }
+}
@@ -0,0 +1,58 @@
+package org.galaxy.server.controller;
+
+import org.galaxy.server.service.PersistenceMetrics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs requests through the real filter, repository and JDBC proxies and reads the result back
+ * from {@code GET /metrics/persistence}.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:persistence-metrics;DB_CLOSE_DELAY=-1",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.show-sql=false",
+                "spring.ai.openai.api-key=test",
+                "app.catalog.snapshot-file="
+        })
+class MetricsControllerTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void testReportsStatementsPerEndpointAndRepositoryTimings() {
+        for (int restaurantId = 1; restaurantId <= 3; restaurantId++) {
+            ResponseEntity<String> reservations =
+                    restTemplate.getForEntity("/reservations/restaurant/" + restaurantId, String.class);
+            assertThat(reservations.getStatusCode()).isEqualTo(HttpStatus.OK);
+        }
+
+        ResponseEntity<PersistenceMetrics.Stats> response =
+                restTemplate.getForEntity("/metrics/persistence", PersistenceMetrics.Stats.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        PersistenceMetrics.Stats stats = response.getBody();
+        assertThat(stats).isNotNull();
+        assertThat(stats.requests()).anySatisfy(request -> {
+            assertThat(request.endpoint()).isEqualTo("GET /reservations/restaurant/{restaurantId}");
+            assertThat(request.requests()).isEqualTo(3);
+            assertThat(request.maxStatements()).isEqualTo(1);
+        });
+        assertThat(stats.repositoryTimings())
+                .anySatisfy(timing -> {
+                    assertThat(timing.name()).isEqualTo("ReservationRepository.findByRestaurantId");
+                    assertThat(timing.count()).isGreaterThanOrEqualTo(3);
+                });
+        assertThat(stats.statementTimings())
+                .anySatisfy(timing -> assertThat(timing.name()).startsWith("select").contains("reservations"));
+    }
+}
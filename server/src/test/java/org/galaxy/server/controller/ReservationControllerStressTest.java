@@ -0,0 +1,118 @@
+package org.galaxy.server.controller;
+
+import org.galaxy.server.model.Reservation;
+import org.galaxy.server.repository.ReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hammers {@code POST /reservations} from many threads with overlapping bookings for a few
+ * restaurants and checks that no time slot ends up with more guests than the capacity.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:reservation-stress;DB_CLOSE_DELAY=-1",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.show-sql=false",
+                "spring.ai.openai.api-key=test",
+                "app.catalog.snapshot-file=",
+                "app.reservations.capacity=" + ReservationControllerStressTest.CAPACITY
+        })
+class ReservationControllerStressTest {
+
+    static final int CAPACITY = 12;
+
+    private static final int THREADS = 16;
+    private static final int REQUESTS_PER_THREAD = 50;
+    private static final int RESTAURANTS = 3;
+    private static final LocalDateTime DINNER = LocalDateTime.of(2030, 6, 1, 18, 0);
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Test
+    void testConcurrentBookingsNeverExceedCapacity() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                Random random = new Random(t);
+                workers.add(executor.submit(() -> {
+                    for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                        LocalDateTime start = DINNER.plusMinutes(15L * random.nextInt(8));
+                        Reservation reservation = Reservation.builder()
+                                .restaurantId(1 + random.nextInt(RESTAURANTS))
+                                .reservationName("Guest " + i)
+                                .guestCount(1 + random.nextInt(4))
+                                .startTime(start)
+                                .endTime(start.plusHours(1))
+                                .build();
+
+                        ResponseEntity<Reservation> response =
+                                restTemplate.postForEntity("/reservations", reservation, Reservation.class);
+
+                        if (response.getStatusCode() == HttpStatus.OK) {
+                            created.incrementAndGet();
+                        } else {
+                            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+                            conflicts.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(created.get() + conflicts.get()).isEqualTo(THREADS * REQUESTS_PER_THREAD);
+        assertThat(created.get()).isPositive();
+        assertThat(conflicts.get()).isPositive();
+
+        List<Reservation> saved = reservationRepository.findAll();
+        assertThat(saved).hasSize(created.get());
+        for (int restaurantId = 1; restaurantId <= RESTAURANTS; restaurantId++) {
+            for (LocalDateTime slot = DINNER; slot.isBefore(DINNER.plusHours(3)); slot = slot.plusMinutes(15)) {
+                assertThat(guestsAt(saved, restaurantId, slot))
+                        .as("guests at restaurant %d at %s", restaurantId, slot)
+                        .isLessThanOrEqualTo(CAPACITY);
+            }
+        }
+    }
+
+    private static int guestsAt(List<Reservation> reservations, int restaurantId, LocalDateTime time) {
+        int guests = 0;
+        for (Reservation reservation : reservations) {
+            if (reservation.getRestaurantId() == restaurantId
+                    && !reservation.getStartTime().isAfter(time)
+                    && reservation.getEndTime().isAfter(time)) {
+                guests += reservation.getGuestCount();
+            }
+        }
+        return guests;
+    }
+}
@@ -2,7 +2,13 @@ package org.galaxy.server.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.galaxy.server.model.Availability;
 import org.galaxy.server.model.Reservation;
+import org.galaxy.server.model.ReservationCursor;
+import org.galaxy.server.model.ReservationImportResult;
+import org.galaxy.server.service.JournalUnavailableException;
+import org.galaxy.server.service.ReservationConflictException;
+import org.galaxy.server.service.ReservationImportService;
 import org.galaxy.server.service.ReservationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,14 +17,18 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -26,12 +36,15 @@ class ReservationControllerTest {
 
     private MockMvc mockMvc;
     private ReservationService reservationService;
+    private ReservationImportService reservationImportService;
     private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
 
     @BeforeEach
     void setUp() {
         reservationService = Mockito.mock(ReservationService.class);
-        ReservationController reservationController = new ReservationController(reservationService);
+        reservationImportService = Mockito.mock(ReservationImportService.class);
+        ReservationController reservationController =
+                new ReservationController(reservationService, reservationImportService, objectMapper);
         mockMvc = MockMvcBuilders.standaloneSetup(reservationController).build();
     }
 
@@ -67,6 +80,62 @@ class ReservationControllerTest {
                 .andExpect(jsonPath("$.length()").value(1))
                 .andExpect(jsonPath("$[0].reservationName").value("Guest 1"));
     }
+    @Test
+    void testGetReservationsPageCarriesNextCursorWhenFull() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2025, 12, 22, 19, 0);
+        Reservation r1 = Reservation.builder().id(7L).restaurantId(1).reservationName("Guest 1").startTime(start).build();
+        Reservation r2 = Reservation.builder().id(9L).restaurantId(1).reservationName("Guest 2").startTime(start).build();
+
+        when(reservationService.getReservationsPage(1, null, null, new ReservationCursor(start.minusHours(1), 3L), 2))
+                .thenReturn(List.of(r1, r2));
+
+        mockMvc.perform(get("/reservations/restaurant/1")
+                        .param("limit", "2")
+                        .param("cursor", "2025-12-22T18:00_3"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "2025-12-22T19:00_9"))
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void testGetReservationsLastPageHasNoCursor() throws Exception {
+        Reservation r1 = Reservation.builder().id(7L).restaurantId(1).reservationName("Guest 1")
+                .startTime(LocalDateTime.of(2025, 12, 22, 19, 0)).build();
+
+        when(reservationService.getReservationsPage(1, null, null, null, 2)).thenReturn(List.of(r1));
+
+        mockMvc.perform(get("/reservations/restaurant/1").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void testGetAvailability() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2025, 12, 22, 19, 0);
+        when(reservationService.checkAvailability(1, start, null, 4))
+                .thenReturn(new Availability(1, start, start.plusHours(1), 4, 12, true));
+
+        mockMvc.perform(get("/reservations/restaurant/1/availability")
+                        .param("start", "2025-12-22T19:00:00")
+                        .param("guests", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.available").value(true))
+                .andExpect(jsonPath("$.seatsLeft").value(12));
+    }
+
+    @Test
+    void testGetAvailabilityWithInvalidWindow() throws Exception {
+        when(reservationService.checkAvailability(anyInt(), any(LocalDateTime.class), any(LocalDateTime.class), anyInt()))
+                .thenThrow(new IllegalArgumentException("endTime must be after startTime"));
+
+        mockMvc.perform(get("/reservations/restaurant/1/availability")
+                        .param("start", "2025-12-22T19:00:00")
+                        .param("end", "2025-12-22T18:00:00")
+                        .param("guests", "4"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testPostReservations() throws Exception {
         LocalDateTime start = LocalDateTime.of(2025, 12, 26, 10, 0);
@@ -83,6 +152,63 @@ class ReservationControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void testPostReservationsWhenFullReturnsConflict() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2025, 12, 26, 19, 0);
+        Reservation reservation = Reservation.builder().restaurantId(3).reservationName("John Doe").guestCount(6)
+                .startTime(start).endTime(start.plusHours(1)).build();
+        when(reservationService.createReservation(any(Reservation.class)))
+                .thenThrow(new ReservationConflictException("Restaurant 3 has only 2 seats left"));
+
+        mockMvc.perform(post("/reservations")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(reservation)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testPostReservationsInJournalModeReturnsAccepted() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2025, 12, 27, 19, 0);
+        Reservation reservation = Reservation.builder().restaurantId(3).reservationName("John Doe").guestCount(2)
+                .startTime(start).endTime(start.plusHours(1)).build();
+        when(reservationService.createReservation(any(Reservation.class))).thenReturn(reservation);
+        when(reservationService.isJournaled()).thenReturn(true);
+
+        mockMvc.perform(post("/reservations")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(reservation)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.reservationName").value("John Doe"));
+    }
+
+    @Test
+    void testPostReservationsWhenJournalFailsReturnsServiceUnavailable() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2025, 12, 27, 19, 0);
+        Reservation reservation = Reservation.builder().restaurantId(3).reservationName("John Doe").guestCount(2)
+                .startTime(start).endTime(start.plusHours(1)).build();
+        when(reservationService.createReservation(any(Reservation.class)))
+                .thenThrow(new JournalUnavailableException("Could not journal reservation", null));
+
+        mockMvc.perform(post("/reservations")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(reservation)))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void testPostReservationsWithUnexpectedStateReturnsBadRequest() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2025, 12, 27, 19, 0);
+        Reservation reservation = Reservation.builder().restaurantId(3).reservationName("John Doe").guestCount(2)
+                .startTime(start).endTime(start.plusHours(1)).build();
+        when(reservationService.createReservation(any(Reservation.class)))
+                .thenThrow(new IllegalStateException("unrelated"));
+
+        mockMvc.perform(post("/reservations")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(reservation)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testPostReservationsWithInvalidData() throws Exception {
         Reservation reservation = Reservation.builder().build();
@@ -94,4 +220,59 @@ class ReservationControllerTest {
                         .content(objectMapper.writeValueAsString(reservation)))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void testBulkImportStreamsJsonArray() throws Exception {
+        List<Reservation> received = new ArrayList<>();
+        when(reservationImportService.importReservations(any())).thenAnswer(invocation -> {
+            Iterator<Reservation> reservations = invocation.getArgument(0);
+            reservations.forEachRemaining(received::add);
+            return new ReservationImportResult(received.size(), 0, 5, 400.0);
+        });
+
+        mockMvc.perform(post("/reservations/bulk")
+                        .contentType("application/json")
+                        .content("""
+                                [{"restaurantId":1,"reservationName":"A","guestCount":2,"startTime":"2025-12-26T18:00:00","endTime":"2025-12-26T19:00:00"},
+                                 {"restaurantId":2,"reservationName":"B","guestCount":4,"startTime":"2025-12-26T20:00:00","endTime":"2025-12-26T21:00:00"}]
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rowsPerSecond").value(400.0));
+
+        assertEquals(List.of("A", "B"), received.stream().map(Reservation::getReservationName).toList());
+    }
+
+    @Test
+    void testBulkImportAcceptsNdjson() throws Exception {
+        List<Reservation> received = new ArrayList<>();
+        when(reservationImportService.importReservations(any())).thenAnswer(invocation -> {
+            Iterator<Reservation> reservations = invocation.getArgument(0);
+            reservations.forEachRemaining(received::add);
+            return new ReservationImportResult(received.size(), 0, 1, 2000.0);
+        });
+
+        mockMvc.perform(post("/reservations/bulk")
+                        .contentType("application/x-ndjson")
+                        .content("""
+                                {"restaurantId":1,"reservationName":"A","guestCount":2,"startTime":"2025-12-26T18:00:00","endTime":"2025-12-26T19:00:00"}
+                                {"restaurantId":2,"reservationName":"B","guestCount":4,"startTime":"2025-12-26T20:00:00","endTime":"2025-12-26T21:00:00"}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2));
+    }
+
+    @Test
+    void testBulkImportWithMalformedJson() throws Exception {
+        when(reservationImportService.importReservations(any())).thenAnswer(invocation -> {
+            Iterator<Reservation> reservations = invocation.getArgument(0);
+            reservations.forEachRemaining(reservation -> { });
+            return new ReservationImportResult(0, 0, 0, 0);
+        });
+
+        mockMvc.perform(post("/reservations/bulk")
+                        .contentType("application/json")
+                        .content("[{\"restaurantId\":1,"))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -0,0 +1,41 @@
+package org.galaxy.server.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BitmapIndexTest {
+
+    private final BitmapIndex index = BitmapIndex.build(new int[]{10, 25, 45, 20, 15, 40});
+
+    @Test
+    void testRangeIsUnionOfValueBitmaps() {
+        BitSet rows = index.range(Integer.MIN_VALUE, 20);
+
+        assertEquals(3, rows.cardinality());
+        assertTrue(rows.get(0));
+        assertTrue(rows.get(3));
+        assertTrue(rows.get(4));
+    }
+
+    @Test
+    void testRangeBetweenStoredValues() {
+        BitSet rows = index.range(30, 44);
+
+        assertEquals(1, rows.cardinality());
+        assertTrue(rows.get(5));
+        assertTrue(index.range(46, Integer.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    void testMatchingAppliesPredicatePerDistinctValue() {
+        BitSet rows = index.matching(value -> value % 20 == 0);
+
+        assertEquals(2, rows.cardinality());
+        assertTrue(rows.get(3));
+        assertTrue(rows.get(5));
+    }
+}
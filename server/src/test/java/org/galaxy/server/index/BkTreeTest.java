@@ -0,0 +1,40 @@
+package org.galaxy.server.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BkTreeTest {
+
+    private final BkTree tree = BkTree.build(new String[]{"delicious", "chow", "cuts", "local", "wish", "deliciousgenix"});
+
+    private List<Integer> search(String query, int maxEdits) {
+        List<Integer> matches = new ArrayList<>();
+        tree.search(query, maxEdits, matches::add);
+        matches.sort(null);
+        return matches;
+    }
+
+    @Test
+    void testFindsWordsWithinEditDistance() {
+        assertEquals(List.of(0), search("delicous", 1));
+        assertEquals(List.of(1), search("chw", 1));
+        assertEquals(List.of(2), search("cut", 2));
+    }
+
+    @Test
+    void testExactSearchOnlyFindsTheWordItself() {
+        assertEquals(List.of(3), search("local", 0));
+        assertEquals(List.of(), search("locale", 0));
+    }
+
+    @Test
+    void testLevenshteinDistance() {
+        assertEquals(3, BkTree.distance("kitten", "sitting"));
+        assertEquals(0, BkTree.distance("chow", "chow"));
+        assertEquals(4, BkTree.distance("", "wish"));
+    }
+}
@@ -0,0 +1,55 @@
+package org.galaxy.server.index;
+
+import org.galaxy.server.model.Restaurant;
+import org.galaxy.server.model.SearchFacets;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FacetCounterTest {
+
+    private final RestaurantIndex index = RestaurantIndex.build(Arrays.asList(
+            new Restaurant(1, "Deliciousgenix", 4, 1, 10, 11, "Spanish"),
+            new Restaurant(2, "Cuts Delicious", 3, 9, 25, 8, "Korean"),
+            new Restaurant(3, "Fine Delicious", 4, 5, 45, 11, "Spanish"),
+            new Restaurant(4, "Local Delicious", 5, 4, 20, 12, "Greek")
+    ));
+
+    @Test
+    void testCountsEveryFacetOverMatchingRows() {
+        SearchFacets facets = FacetCounter.count(index, index.allRows(), List.of());
+
+        assertEquals(4, facets.total());
+        assertEquals(List.of("Spanish", "Korean", "Greek"), List.copyOf(facets.cuisines().keySet()));
+        assertEquals(2, facets.cuisines().get("Spanish"));
+        assertEquals(Map.of("10-19", 1, "20-29", 2, "40-49", 1), facets.priceBands());
+        assertEquals(Map.of(3, 1, 4, 2, 5, 1), facets.ratings());
+    }
+
+    @Test
+    void testOnlyMatchingRowsAreCounted() {
+        BitSet rows = new BitSet();
+        rows.set(1);
+
+        SearchFacets facets = FacetCounter.count(index, rows, List.of());
+
+        assertEquals(1, facets.total());
+        assertEquals(Map.of("Korean", 1), facets.cuisines());
+        assertEquals(Map.of("20-29", 1), facets.priceBands());
+        assertEquals(Map.of(3, 1), facets.ratings());
+    }
+
+    @Test
+    void testNoMatchesGiveEmptyFacets() {
+        SearchFacets facets = FacetCounter.count(index, new BitSet(), List.of());
+
+        assertEquals(0, facets.total());
+        assertTrue(facets.cuisines().isEmpty());
+    }
+}
@@ -0,0 +1,41 @@
+package org.galaxy.server.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeoIndexTest {
+
+    // Times Square, then points roughly 0.1, 1, 3 and 8 miles away; row 4 has no coordinates.
+    private final GeoIndex index = GeoIndex.build(
+            new double[]{40.7580, 40.7594, 40.7725, 40.7160, Double.NaN, 40.8500},
+            new double[]{-73.9855, -73.9855, -73.9855, -73.9855, Double.NaN, -73.9000});
+
+    @Test
+    void testNearestAreReturnedClosestFirst() {
+        List<GeoIndex.Hit> hits = index.nearest(40.7580, -73.9855, Double.POSITIVE_INFINITY, 3, row -> true);
+
+        assertEquals(3, hits.size());
+        assertEquals(0, hits.get(0).row());
+        assertEquals(1, hits.get(1).row());
+        assertEquals(2, hits.get(2).row());
+        assertEquals(0.0, hits.get(0).miles(), 1e-9);
+        assertEquals(1.0, hits.get(2).miles(), 0.05);
+    }
+
+    @Test
+    void testRadiusAndFilterBoundTheResults() {
+        List<GeoIndex.Hit> hits = index.nearest(40.7580, -73.9855, 5, 10, row -> row != 1);
+
+        assertEquals(List.of(0, 2, 3), hits.stream().map(GeoIndex.Hit::row).toList());
+    }
+
+    @Test
+    void testRowsWithoutCoordinatesAreNotIndexed() {
+        assertEquals(5, index.size());
+        assertTrue(index.nearest(40.7580, -73.9855, Double.POSITIVE_INFINITY, 10, row -> row == 4).isEmpty());
+    }
+}
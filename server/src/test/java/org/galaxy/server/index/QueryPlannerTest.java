@@ -0,0 +1,63 @@
+package org.galaxy.server.index;
+
+import org.galaxy.server.model.Restaurant;
+import org.galaxy.server.model.RestaurantSearchOptions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueryPlannerTest {
+
+    private final RestaurantIndex index = RestaurantIndex.build(Arrays.asList(
+            new Restaurant(1, "Deliciousgenix", 4, 1, 10, 11, "Spanish"),
+            new Restaurant(2, "Cuts Delicious", 3, 9, 25, 8, "Korean"),
+            new Restaurant(3, "Fine Delicious", 4, 5, 45, 4, "Italian"),
+            new Restaurant(4, "Local Delicious", 5, 4, 20, 12, "Greek"),
+            new Restaurant(5, "Deliciouszilla", 4, 1, 15, 2, "Chinese"),
+            new Restaurant(6, "Wish Chow", 3, 1, 40, 1, "American")
+    ));
+
+    @Test
+    void testAbsentFiltersAreDropped() {
+        SearchPlan plan = QueryPlanner.plan(index, RestaurantSearchOptions.builder().price(20).build());
+
+        assertEquals(List.of(new SearchPlan.Step("price <= 20", 3)), plan.explain());
+    }
+
+    @Test
+    void testStagesAreOrderedBySelectivity() {
+        RestaurantSearchOptions options = RestaurantSearchOptions.builder()
+                .rating(3)
+                .distance(4)
+                .cuisine("greek")
+                .build();
+
+        List<SearchPlan.Step> steps = QueryPlanner.plan(index, options).explain();
+
+        assertEquals(3, steps.size());
+        assertEquals("cuisine contains 'greek'", steps.get(0).filter());
+        assertEquals("distance <= 4", steps.get(1).filter());
+        assertEquals("rating >= 3", steps.get(2).filter());
+    }
+
+    @Test
+    void testExecuteReturnsRowsMatchingEveryStage() {
+        RestaurantSearchOptions options = RestaurantSearchOptions.builder()
+                .rating(4)
+                .name("delicious")
+                .build();
+
+        BitSet rows = QueryPlanner.plan(index, options).execute();
+
+        assertEquals(4, rows.cardinality());
+        assertTrue(rows.get(0));
+        assertTrue(rows.get(2));
+        assertTrue(rows.get(3));
+        assertTrue(rows.get(4));
+    }
+}
@@ -0,0 +1,68 @@
+package org.galaxy.server.index;
+
+import org.galaxy.server.model.Restaurant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class RestaurantIndexTest {
+
+    private RestaurantIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = RestaurantIndex.build(Arrays.asList(
+                new Restaurant(1, "Deliciousgenix", 4, 1, 10, 11, "Spanish"),
+                new Restaurant(2, "Cuts Delicious", 3, 9, 25, 8, "Korean"),
+                new Restaurant(3, "Fine Delicious", 4, 5, 45, 11, "Spanish")
+        ));
+    }
+
+    @Test
+    void testColumnsMirrorRows() {
+        assertEquals(3, index.size());
+        assertEquals(2, index.id(1));
+        assertEquals(3, index.rating(1));
+        assertEquals(9, index.distance(1));
+        assertEquals(25, index.price(1));
+        assertEquals(8, index.cuisineId(1));
+        assertEquals("cuts delicious", index.normalizedName(1));
+        assertSame(index.row(1), index.row(1));
+    }
+
+    @Test
+    void testCuisineColumnIsDictionaryEncoded() {
+        assertEquals(2, index.cuisineDictionarySize());
+        assertEquals(index.cuisineCode(0), index.cuisineCode(2));
+
+        boolean[] matches = index.matchCuisineCodes("SPAN");
+        boolean[] expected = new boolean[2];
+        expected[index.cuisineCode(0)] = true;
+        assertArrayEquals(expected, matches);
+    }
+
+    @Test
+    void testSortedRowsMatchesBoxedSort() {
+        Random random = new Random(42);
+        for (int size = 0; size <= 70; size++) {
+            // Few distinct keys, so ties are common and only broken by row number
+            int[] keys = random.ints(size, 0, 5).toArray();
+            RowComparator comparator = (row1, row2) -> keys[row1] != keys[row2]
+                    ? Integer.compare(keys[row1], keys[row2])
+                    : Integer.compare(row2, row1);
+
+            int[] expected = IntStream.range(0, size).boxed()
+                    .sorted(comparator::compare)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            assertArrayEquals(expected, RestaurantIndex.sortedRows(size, comparator));
+        }
+    }
+}
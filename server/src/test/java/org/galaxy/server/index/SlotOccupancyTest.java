@@ -0,0 +1,61 @@
+package org.galaxy.server.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SlotOccupancyTest {
+
+    @Test
+    void testPeakIsBusiestSlotInRange() {
+        SlotOccupancy occupancy = new SlotOccupancy(96);
+        occupancy.add(72, 76, 4);
+        occupancy.add(74, 80, 6);
+
+        assertEquals(10, occupancy.peak(72, 80));
+        assertEquals(4, occupancy.peak(72, 74));
+        assertEquals(6, occupancy.peak(76, 96));
+        assertEquals(0, occupancy.peak(0, 72));
+    }
+
+    @Test
+    void testNegativeAddReleasesSeats() {
+        SlotOccupancy occupancy = new SlotOccupancy(96);
+        occupancy.add(10, 20, 8);
+        occupancy.add(10, 20, -8);
+
+        assertEquals(0, occupancy.peak(0, 96));
+    }
+
+    @Test
+    void testMatchesSlotBySlotCounts() {
+        Random random = new Random(7);
+        SlotOccupancy occupancy = new SlotOccupancy(96);
+        int[] expected = new int[96];
+
+        for (int i = 0; i < 500; i++) {
+            int from = random.nextInt(96);
+            int to = from + 1 + random.nextInt(96 - from);
+            if (random.nextBoolean()) {
+                int guests = 1 + random.nextInt(6);
+                occupancy.add(from, to, guests);
+                for (int slot = from; slot < to; slot++) expected[slot] += guests;
+            } else {
+                int peak = 0;
+                for (int slot = from; slot < to; slot++) peak = Math.max(peak, expected[slot]);
+                assertEquals(peak, occupancy.peak(from, to));
+            }
+        }
+    }
+
+    @Test
+    void testRejectsRangeOutsideSlots() {
+        SlotOccupancy occupancy = new SlotOccupancy(96);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> occupancy.add(90, 97, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> occupancy.peak(5, 4));
+    }
+}
@@ -0,0 +1,36 @@
+package org.galaxy.server.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrigramIndexTest {
+
+    private final TrigramIndex index = TrigramIndex.build(new String[]{
+            "deliciousgenix", "cuts delicious", "wish chow", "local delicious"
+    });
+
+    @Test
+    void testCandidatesContainEveryTrigram() {
+        BitSet rows = index.candidates("delicious");
+
+        assertEquals(3, rows.cardinality());
+        assertTrue(rows.get(0));
+        assertTrue(rows.get(1));
+        assertTrue(rows.get(3));
+    }
+
+    @Test
+    void testMissingTrigramYieldsNoCandidates() {
+        assertTrue(index.candidates("chowder").isEmpty());
+    }
+
+    @Test
+    void testShortQueryCannotBeNarrowed() {
+        assertNull(index.candidates("ch"));
+    }
+}
@@ -4,10 +4,12 @@ import org.galaxy.server.model.Reservation;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -38,4 +40,35 @@ public class ReservationRepositoryTest {
         assertThat(foundReservation).isPresent();
         assertThat(foundReservation.get().getReservationName()).isEqualTo("John Doe");
     }
+
+    @Test
+    public void testFindPageResumesAfterLastRowOfPreviousPage() {
+        int restaurantId = 987_654;
+        LocalDateTime dinner = LocalDateTime.of(2030, 3, 1, 19, 0);
+        Reservation early = save(restaurantId, dinner.minusHours(1));
+        Reservation first = save(restaurantId, dinner);
+        Reservation second = save(restaurantId, dinner);
+        Reservation late = save(restaurantId, dinner.plusHours(1));
+        save(restaurantId + 1, dinner);
+
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2031, 1, 1, 0, 0);
+        List<Reservation> page1 = reservationRepository.findPage(restaurantId, from, to, 0L, Limit.of(2));
+        List<Reservation> page2 = reservationRepository.findPage(restaurantId, first.getStartTime(), to, first.getId(), Limit.of(2));
+        List<Reservation> page3 = reservationRepository.findPage(restaurantId, late.getStartTime(), to, late.getId(), Limit.of(2));
+
+        assertThat(page1).extracting(Reservation::getId).containsExactly(early.getId(), first.getId());
+        assertThat(page2).extracting(Reservation::getId).containsExactly(second.getId(), late.getId());
+        assertThat(page3).isEmpty();
+    }
+
+    private Reservation save(int restaurantId, LocalDateTime start) {
+        return reservationRepository.save(Reservation.builder()
+                .restaurantId(restaurantId)
+                .reservationName("Guest")
+                .guestCount(2)
+                .startTime(start)
+                .endTime(start.plusHours(1))
+                .build());
+    }
 }
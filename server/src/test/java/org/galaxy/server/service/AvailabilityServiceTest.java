@@ -0,0 +1,132 @@
+package org.galaxy.server.service;
+
+import org.galaxy.server.model.Availability;
+import org.galaxy.server.model.Reservation;
+import org.galaxy.server.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AvailabilityServiceTest {
+
+    private static final LocalDateTime DINNER = LocalDateTime.of(2030, 1, 10, 18, 0);
+
+    private AvailabilityService availabilityService;
+
+    @BeforeEach
+    void setUp() {
+        ReservationRepository reservationRepository = mock(ReservationRepository.class);
+        when(reservationRepository.findByEndTimeAfter(any(LocalDateTime.class))).thenReturn(List.of(reservation(1, 30, DINNER, DINNER.plusHours(1))));
+        availabilityService = new AvailabilityService(reservationRepository, 40, Duration.ofHours(1));
+        availabilityService.loadReservations();
+    }
+
+    @Test
+    void testLoadsExistingReservations() {
+        Availability availability = availabilityService.check(1, DINNER, null, 10);
+
+        assertTrue(availability.available());
+        assertEquals(10, availability.seatsLeft());
+        assertEquals(DINNER.plusHours(1), availability.endTime());
+        assertFalse(availabilityService.check(1, DINNER, null, 11).available());
+    }
+
+    @Test
+    void testOverlapAnywhereInWindowCounts() {
+        assertFalse(availabilityService.check(1, DINNER.minusMinutes(30), null, 20).available());
+        assertTrue(availabilityService.check(1, DINNER.minusHours(1), null, 40).available());
+        assertTrue(availabilityService.check(1, DINNER.plusHours(1), null, 40).available());
+    }
+
+    @Test
+    void testWindowEndingMidSlotCoversThatSlot() {
+        Availability availability = availabilityService.check(1, DINNER.minusHours(1), DINNER.plusMinutes(1), 1);
+
+        assertEquals(10, availability.seatsLeft());
+    }
+
+    @Test
+    void testBookingUpdatesAvailability() {
+        availabilityService.book(reservation(1, 10, DINNER.plusMinutes(30), DINNER.plusMinutes(90)));
+
+        assertEquals(0, availabilityService.check(1, DINNER.plusMinutes(30), null, 1).seatsLeft());
+        assertEquals(30, availabilityService.check(1, DINNER.plusHours(1), null, 1).seatsLeft());
+    }
+
+    @Test
+    void testReservationAcrossMidnightOccupiesBothDays() {
+        LocalDateTime late = DINNER.withHour(23);
+        availabilityService.book(reservation(2, 25, late, late.plusHours(2)));
+
+        assertEquals(15, availabilityService.check(2, late, null, 1).seatsLeft());
+        assertEquals(15, availabilityService.check(2, late.plusMinutes(90), null, 1).seatsLeft());
+        assertEquals(40, availabilityService.check(2, late.plusHours(2), null, 1).seatsLeft());
+    }
+
+    @Test
+    void testUnknownRestaurantHasFullCapacity() {
+        assertEquals(40, availabilityService.check(99, DINNER, null, 4).seatsLeft());
+    }
+
+    @Test
+    void testIgnoresPastAndEmptyBookings() {
+        LocalDateTime yesterday = LocalDate.now().minusDays(1).atTime(18, 0);
+        availabilityService.book(reservation(3, 20, yesterday, yesterday.plusHours(1)));
+        availabilityService.book(reservation(1, 0, DINNER, DINNER.plusHours(1)));
+        availabilityService.book(reservation(1, -5, DINNER, DINNER.plusHours(1)));
+
+        assertEquals(40, availabilityService.check(3, yesterday, null, 1).seatsLeft());
+        assertEquals(10, availabilityService.check(1, DINNER, null, 1).seatsLeft());
+    }
+
+    @Test
+    void testEvictsDaysBeforeTheGivenDay() {
+        availabilityService.evictDaysBefore(DINNER.toLocalDate());
+        assertEquals(10, availabilityService.check(1, DINNER, null, 1).seatsLeft());
+
+        availabilityService.evictDaysBefore(DINNER.toLocalDate().plusDays(1));
+        assertEquals(40, availabilityService.check(1, DINNER, null, 1).seatsLeft());
+    }
+
+    @Test
+    void testRejectsInvalidQueries() {
+        assertThrows(IllegalArgumentException.class, () -> availabilityService.check(1, DINNER, DINNER, 2));
+        assertThrows(IllegalArgumentException.class, () -> availabilityService.check(1, DINNER, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> availabilityService.check(1, null, null, 2));
+    }
+
+    @Test
+    void testRejectsWindowsLongerThanADay() {
+        assertTrue(availabilityService.check(1, DINNER, DINNER.plusHours(24), 1).available());
+        assertThrows(IllegalArgumentException.class,
+                () -> availabilityService.check(1, DINNER, DINNER.plusHours(24).plusMinutes(1), 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> availabilityService.canSeat(DINNER, DINNER.plusYears(5), 1));
+
+        // A stored reservation that long is ignored instead of filling a calendar day by day
+        availabilityService.book(reservation(4, 10, DINNER, DINNER.plusYears(5)));
+        assertEquals(40, availabilityService.check(4, DINNER.plusDays(2), null, 1).seatsLeft());
+    }
+
+    private static Reservation reservation(int restaurantId, int guests, LocalDateTime start, LocalDateTime end) {
+        return Reservation.builder()
+                .restaurantId(restaurantId)
+                .reservationName("Guest")
+                .guestCount(guests)
+                .startTime(start)
+                .endTime(end)
+                .build();
+    }
+}
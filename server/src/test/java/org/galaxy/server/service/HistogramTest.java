@@ -0,0 +1,54 @@
+package org.galaxy.server.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class HistogramTest {
+
+    @Test
+    void testSmallValuesAreExact() {
+        Histogram histogram = new Histogram();
+        for (int value = 1; value <= 10; value++) {
+            histogram.record(value);
+        }
+
+        assertThat(histogram.count()).isEqualTo(10);
+        assertThat(histogram.mean()).isEqualTo(5.5);
+        assertThat(histogram.percentile(50)).isEqualTo(5);
+        assertThat(histogram.percentile(100)).isEqualTo(10);
+        assertThat(histogram.max()).isEqualTo(10);
+    }
+
+    @Test
+    void testPercentilesOfLargeValuesAreWithinBucketPrecision() {
+        Histogram histogram = new Histogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1_000);
+        }
+
+        assertThat((double) histogram.percentile(50)).isCloseTo(50_000_000, within(50_000_000 * 0.07));
+        assertThat((double) histogram.percentile(99)).isCloseTo(99_000_000, within(99_000_000 * 0.07));
+        assertThat(histogram.percentile(100)).isEqualTo(100_000_000);
+    }
+
+    @Test
+    void testBucketsCoverTheWholeRange() {
+        for (long value : new long[]{0, 15, 16, 17, 1_000_000, Long.MAX_VALUE}) {
+            int bucket = Histogram.bucketOf(value);
+            assertThat(Histogram.lowestValue(bucket)).isLessThanOrEqualTo(value);
+            if (value < Long.MAX_VALUE) {
+                assertThat(Histogram.bucketOf(Histogram.lowestValue(bucket))).isEqualTo(bucket);
+            }
+        }
+    }
+
+    @Test
+    void testEmptyHistogram() {
+        Histogram histogram = new Histogram();
+
+        assertThat(histogram.percentile(99)).isZero();
+        assertThat(histogram.mean()).isZero();
+    }
+}
@@ -0,0 +1,80 @@
+package org.galaxy.server.service;
+
+import org.galaxy.server.index.RestaurantIndex;
+import org.galaxy.server.model.Restaurant;
+import org.galaxy.server.model.RestaurantComparator;
+import org.galaxy.server.model.SearchCursor;
+import org.galaxy.server.model.SortMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelTopKSearchTest {
+
+    // Tiny partitions so that even a small catalog is split across many tasks.
+    private final ParallelTopKSearch search = new ParallelTopKSearch(1, 7, 4);
+
+    @AfterEach
+    void tearDown() {
+        search.shutdown();
+    }
+
+    private static List<Restaurant> restaurants(int count) {
+        Random random = new Random(42);
+        List<Restaurant> restaurants = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            restaurants.add(new Restaurant(i, "Restaurant " + i, 1 + random.nextInt(5), 1 + random.nextInt(10),
+                    10 + 5 * random.nextInt(9), 1, "Spanish"));
+        }
+        return restaurants;
+    }
+
+    @Test
+    void testMergedPartitionsMatchSequentialSort() {
+        List<Restaurant> restaurants = restaurants(500);
+        RestaurantIndex index = RestaurantIndex.build(restaurants);
+
+        for (SortMode sort : SortMode.values()) {
+            List<Restaurant> expected = new ArrayList<>(restaurants);
+            expected.sort(new RestaurantComparator(sort));
+
+            assertEquals(expected.subList(0, 25), search.topK(index, index.allRows(), sort, null, 25));
+        }
+    }
+
+    @Test
+    void testOnlyCandidatesAfterTheCursorAreSelected() {
+        List<Restaurant> restaurants = restaurants(200);
+        RestaurantIndex index = RestaurantIndex.build(restaurants);
+        BitSet evenRows = new BitSet();
+        for (int row = 0; row < index.size(); row += 2) evenRows.set(row);
+
+        List<Restaurant> expected = new ArrayList<>();
+        for (int row = 0; row < index.size(); row += 2) expected.add(restaurants.get(row));
+        expected.sort(new RestaurantComparator());
+        SearchCursor cursor = SearchCursor.of(expected.get(9));
+
+        assertEquals(expected.subList(10, 20), search.topK(index, evenRows, SortMode.DISTANCE, cursor, 10));
+    }
+
+    @Test
+    void testThresholdKeepsSmallScansSequential() {
+        ParallelTopKSearch disabled = new ParallelTopKSearch(0, 1024, 1);
+        ParallelTopKSearch large = new ParallelTopKSearch(100_000, 1024, 1);
+
+        assertFalse(disabled.shouldParallelize(1_000_000));
+        assertFalse(large.shouldParallelize(99_999));
+        assertTrue(large.shouldParallelize(100_000));
+
+        disabled.shutdown();
+        large.shutdown();
+    }
+}
@@ -0,0 +1,78 @@
+package org.galaxy.server.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PersistenceMetricsTest {
+
+    private static final String SELECT_RESTAURANT = "select r.id from reservations r where r.restaurant_id=?";
+
+    @Test
+    void testNormalizeCollapsesWhitespaceAndInLists() {
+        assertThat(PersistenceMetrics.normalize("  select *\n  from reservations\twhere id in (?, ?,?)  "))
+                .isEqualTo("select * from reservations where id in (?, ...)");
+        assertThat(PersistenceMetrics.normalize("select * from reservations where id in (?,?)"))
+                .isEqualTo(PersistenceMetrics.normalize("select * from reservations where id in (?, ?, ?, ?)"));
+    }
+
+    @Test
+    void testCountsStatementsPerRequestAndFlagsRepeatedSelects() {
+        PersistenceMetrics metrics = new PersistenceMetrics(true, Duration.ofSeconds(1), 5);
+
+        metrics.beginRequest();
+        for (int i = 0; i < 6; i++) {
+            metrics.recordStatement(SELECT_RESTAURANT, 1_000);
+        }
+        metrics.recordStatement("insert into reservations values (?)", 1_000);
+        metrics.endRequest("GET /reservations");
+
+        metrics.beginRequest();
+        metrics.recordStatement(SELECT_RESTAURANT, 1_000);
+        metrics.endRequest("GET /reservations");
+
+        PersistenceMetrics.Stats stats = metrics.stats();
+        assertThat(stats.statements()).isEqualTo(8);
+        assertThat(stats.requests()).singleElement().satisfies(request -> {
+            assertThat(request.endpoint()).isEqualTo("GET /reservations");
+            assertThat(request.requests()).isEqualTo(2);
+            assertThat(request.maxStatements()).isEqualTo(7);
+        });
+        assertThat(stats.nPlusOneSuspects()).singleElement().satisfies(suspect -> {
+            assertThat(suspect.statement()).isEqualTo(SELECT_RESTAURANT);
+            assertThat(suspect.requests()).isEqualTo(1);
+            assertThat(suspect.maxExecutionsPerRequest()).isEqualTo(6);
+        });
+    }
+
+    @Test
+    void testStatementsOutsideRequestsAreTimedButNotAttributed() {
+        PersistenceMetrics metrics = new PersistenceMetrics(true, Duration.ofMillis(10), 5);
+
+        metrics.recordStatement(SELECT_RESTAURANT, 2_000_000);
+        metrics.recordStatement(SELECT_RESTAURANT, 20_000_000);
+
+        PersistenceMetrics.Stats stats = metrics.stats();
+        assertThat(stats.requests()).isEmpty();
+        assertThat(stats.slowStatements()).isEqualTo(1);
+        assertThat(stats.statementTimings()).singleElement().satisfies(timing -> {
+            assertThat(timing.count()).isEqualTo(2);
+            assertThat(timing.maxMillis()).isEqualTo(20.0);
+        });
+    }
+
+    @Test
+    void testDistinctStatementsAreBounded() {
+        PersistenceMetrics metrics = new PersistenceMetrics(true, Duration.ofSeconds(1), 5);
+
+        for (int i = 0; i < PersistenceMetrics.MAX_KEYS + 100; i++) {
+            metrics.recordStatement("select * from reservations where id = " + i, 1_000);
+        }
+
+        assertThat(metrics.stats().statementTimings()).hasSize(PersistenceMetrics.MAX_KEYS + 1);
+        assertThat(metrics.stats().statementTimings())
+                .anySatisfy(timing -> assertThat(timing.name()).isEqualTo(PersistenceMetrics.OTHER));
+    }
+}
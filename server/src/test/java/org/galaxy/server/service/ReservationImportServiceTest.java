@@ -0,0 +1,70 @@
+package org.galaxy.server.service;
+
+import org.galaxy.server.model.Reservation;
+import org.galaxy.server.model.ReservationImportResult;
+import org.galaxy.server.repository.ReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reservation-import;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.ai.openai.api-key=test",
+        "app.catalog.snapshot-file=",
+        "app.reservations.import.chunk-size=100"
+})
+class ReservationImportServiceTest {
+
+    private static final int RESTAURANT_ID = 424_242;
+    private static final LocalDateTime DINNER = LocalDateTime.of(2030, 9, 1, 19, 0);
+
+    @Autowired
+    private ReservationImportService reservationImportService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Test
+    void testImportsInChunksAndSkipsInvalidRows() {
+        List<Reservation> reservations = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            LocalDateTime start = DINNER.plusDays(i);
+            reservations.add(Reservation.builder()
+                    .id(1_000_000L + i)
+                    .restaurantId(RESTAURANT_ID)
+                    .reservationName("Imported " + i)
+                    .guestCount(2)
+                    .startTime(start)
+                    .endTime(start.plusHours(1))
+                    .build());
+        }
+        reservations.add(Reservation.builder().restaurantId(RESTAURANT_ID).reservationName("No time").guestCount(2).build());
+        reservations.add(Reservation.builder().restaurantId(RESTAURANT_ID).reservationName("Backwards").guestCount(2)
+                .startTime(DINNER).endTime(DINNER.minusHours(1)).build());
+
+        ReservationImportResult result = reservationImportService.importReservations(reservations.iterator());
+
+        assertThat(result.imported()).isEqualTo(250);
+        assertThat(result.skipped()).isEqualTo(2);
+        assertThat(result.rowsPerSecond()).isPositive();
+
+        List<Reservation> saved = reservationRepository.findByRestaurantId(RESTAURANT_ID);
+        assertThat(saved).hasSize(250);
+        // Source ids are replaced by ids from the sequence
+        assertThat(saved).allSatisfy(reservation -> assertThat(reservation.getId()).isLessThan(1_000_000L));
+
+        int capacity = availabilityService.capacity();
+        assertThat(availabilityService.check(RESTAURANT_ID, DINNER, null, 1).seatsLeft()).isEqualTo(capacity - 2);
+    }
+}
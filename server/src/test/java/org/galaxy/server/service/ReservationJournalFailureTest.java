@@ -0,0 +1,124 @@
+package org.galaxy.server.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.galaxy.server.model.JournalCheckpoint;
+import org.galaxy.server.model.Reservation;
+import org.galaxy.server.repository.JournalCheckpointRepository;
+import org.galaxy.server.repository.ReservationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReservationJournalFailureTest {
+
+    private static final LocalDateTime LUNCH = LocalDateTime.of(2030, 10, 1, 12, 0);
+
+    @TempDir
+    Path directory;
+
+    private final ReservationRepository reservationRepository = mock(ReservationRepository.class);
+    private final JournalCheckpointRepository checkpointRepository = mock(JournalCheckpointRepository.class);
+    private final AvailabilityService availabilityService =
+            new AvailabilityService(reservationRepository, 10, Duration.ofHours(1));
+    private ReservationJournal journal;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        journal.close();
+    }
+
+    @Test
+    void testFailedWriteFailsTheAppendAndMarksTheJournalUnhealthy() throws Exception {
+        open(brokenObjectMapper());
+
+        assertThatThrownBy(() -> journal.append(reservation(2)).get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+
+        assertThat(journal.isHealthy()).isFalse();
+        assertThat(journal.append(reservation(2))).isCompletedExceptionally();
+    }
+
+    @Test
+    void testReservationIsRefusedAndSeatsReleasedWhenTheJournalFails() throws Exception {
+        open(brokenObjectMapper());
+        ReservationService reservationService =
+                new ReservationService(reservationRepository, availabilityService, journal);
+
+        assertThatThrownBy(() -> reservationService.createReservation(reservation(4)))
+                .isInstanceOf(JournalUnavailableException.class);
+        assertThatThrownBy(() -> reservationService.createReservation(reservation(4)))
+                .isInstanceOf(JournalUnavailableException.class);
+
+        assertThat(availabilityService.check(1, LUNCH, null, 10).seatsLeft()).isEqualTo(10);
+    }
+
+    @Test
+    void testFailedDrainIsRetriedWithFreshEntities() throws Exception {
+        // Like a rolled-back transaction: ids were assigned before the failure, but no row exists
+        AtomicInteger attempts = new AtomicInteger();
+        List<Reservation> retried = new ArrayList<>();
+        when(reservationRepository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            Iterable<Reservation> batch = invocation.getArgument(0);
+            if (attempts.getAndIncrement() == 0) {
+                batch.forEach(reservation -> reservation.setId(1000L));
+                throw new IllegalStateException("connection lost");
+            }
+            batch.forEach(retried::add);
+            return retried;
+        });
+        open(new ObjectMapper().findAndRegisterModules());
+
+        journal.append(reservation(2)).get(5, TimeUnit.SECONDS);
+
+        verify(checkpointRepository, timeout(10_000)).save(any(JournalCheckpoint.class));
+        assertThat(attempts).hasValue(2);
+        assertThat(retried).singleElement()
+                .satisfies(reservation -> assertThat(reservation.getId()).isNull());
+    }
+
+    private void open(ObjectMapper objectMapper) throws Exception {
+        journal = new ReservationJournal(true, directory.resolve("reservations.journal").toString(), 10,
+                objectMapper, reservationRepository, checkpointRepository, availabilityService,
+                mock(PlatformTransactionManager.class));
+        journal.open();
+    }
+
+    /**
+     * Serialization failing with an unchecked exception, as a broken mapper module would.
+     */
+    private static ObjectMapper brokenObjectMapper() throws Exception {
+        ObjectMapper objectMapper = mock(ObjectMapper.class);
+        when(objectMapper.writeValueAsBytes(any())).thenThrow(new IllegalArgumentException("broken"));
+        return objectMapper;
+    }
+
+    private static Reservation reservation(int guests) {
+        return Reservation.builder()
+                .restaurantId(1)
+                .reservationName("Lunch")
+                .guestCount(guests)
+                .startTime(LUNCH)
+                .endTime(LUNCH.plusHours(1))
+                .build();
+    }
+}
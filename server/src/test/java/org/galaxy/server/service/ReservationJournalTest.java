@@ -0,0 +1,104 @@
+package org.galaxy.server.service;
+
+import org.galaxy.server.model.Reservation;
+import org.galaxy.server.repository.JournalCheckpointRepository;
+import org.galaxy.server.repository.ReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reservation-journal;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.ai.openai.api-key=test",
+        "app.catalog.snapshot-file=",
+        "app.reservations.journal.enabled=true"
+})
+class ReservationJournalTest {
+
+    private static final int RESTAURANT_ID = 737_373;
+    private static final LocalDateTime LUNCH = LocalDateTime.of(2030, 10, 1, 12, 0);
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private JournalCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    /**
+     * Leaves a journal behind as if the previous run stopped before draining it: two complete
+     * entries and a torn last line that was never acknowledged.
+     */
+    @DynamicPropertySource
+    static void journalFile(DynamicPropertyRegistry registry) {
+        try {
+            Path file = Files.createTempDirectory("reservation-journal").resolve("reservations.journal");
+            Files.writeString(file, """
+                    {"sequence":1,"reservation":{"restaurantId":%1$d,"reservationName":"Replayed 1","guestCount":3,"startTime":"2030-10-01T12:00:00","endTime":"2030-10-01T13:00:00"}}
+                    {"sequence":2,"reservation":{"restaurantId":%1$d,"reservationName":"Replayed 2","guestCount":2,"startTime":"2030-10-01T12:30:00","endTime":"2030-10-01T13:30:00"}}
+                    {"sequence":3,"reservation":{"restaurantId":%1$d,"reservationNa""".formatted(RESTAURANT_ID));
+            registry.add("app.reservations.journal.file", file::toString);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Test
+    void testReplaysUndrainedEntriesAndDrainsNewReservations() throws InterruptedException {
+        // Replayed at startup, before any request is served
+        assertThat(reservationRepository.findByRestaurantId(RESTAURANT_ID))
+                .extracting(Reservation::getReservationName)
+                .containsExactlyInAnyOrder("Replayed 1", "Replayed 2");
+        int capacity = availabilityService.capacity();
+        assertThat(availabilityService.check(RESTAURANT_ID, LUNCH.plusMinutes(30), null, 1).seatsLeft())
+                .isEqualTo(capacity - 5);
+
+        Reservation created = reservationService.createReservation(Reservation.builder()
+                .restaurantId(RESTAURANT_ID)
+                .reservationName("Journaled")
+                .guestCount(4)
+                .startTime(LUNCH.plusHours(2))
+                .endTime(LUNCH.plusHours(3))
+                .build());
+
+        assertThat(reservationService.isJournaled()).isTrue();
+        assertThat(created.getId()).isNull();
+        // The seats are taken as soon as the booking is acknowledged
+        assertThat(availabilityService.check(RESTAURANT_ID, LUNCH.plusHours(2), null, 1).seatsLeft())
+                .isEqualTo(capacity - 4);
+
+        List<Reservation> saved = awaitReservations(3);
+        assertThat(saved).extracting(Reservation::getReservationName).contains("Journaled");
+        assertThat(checkpointRepository.findById("reservations"))
+                .hasValueSatisfying(checkpoint -> assertThat(checkpoint.getSequence()).isEqualTo(3));
+    }
+
+    private List<Reservation> awaitReservations(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        List<Reservation> saved = reservationRepository.findByRestaurantId(RESTAURANT_ID);
+        while (saved.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            saved = reservationRepository.findByRestaurantId(RESTAURANT_ID);
+        }
+        assertThat(saved).hasSize(count);
+        return saved;
+    }
+}
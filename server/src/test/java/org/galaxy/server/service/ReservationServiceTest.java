@@ -0,0 +1,36 @@
+package org.galaxy.server.service;
+
+import org.galaxy.server.model.Reservation;
+import org.galaxy.server.repository.ReservationRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class ReservationServiceTest {
+
+    private static final LocalDateTime DINNER = LocalDateTime.of(2030, 1, 10, 18, 0);
+
+    @Test
+    void testRejectsReservationsLongerThanADay() {
+        ReservationRepository reservationRepository = mock(ReservationRepository.class);
+        ReservationService reservationService = new ReservationService(reservationRepository,
+                new AvailabilityService(reservationRepository, 40, Duration.ofHours(1)),
+                mock(ReservationJournal.class));
+
+        assertThrows(IllegalArgumentException.class, () -> reservationService.createReservation(Reservation.builder()
+                .restaurantId(1)
+                .reservationName("Guest")
+                .guestCount(2)
+                .startTime(DINNER)
+                .endTime(DINNER.plusDays(400))
+                .build()));
+        verify(reservationRepository, never()).save(any(Reservation.class));
+    }
+}
@@ -1,16 +1,21 @@
 package org.galaxy.server.service;
 
 import org.galaxy.server.config.DataLoader;
+import org.galaxy.server.index.RestaurantIndex;
+import org.galaxy.server.model.Reservation;
 import org.galaxy.server.model.Restaurant;
 import org.galaxy.server.model.RestaurantSearchOptions;
+import org.galaxy.server.model.SearchCursor;
+import org.galaxy.server.model.SortMode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
@@ -24,11 +29,14 @@ public class RestaurantServiceTest {
     @Mock
     private DataLoader dataLoader;
 
-    @InjectMocks
     private RestaurantService restaurantService;
 
+    private AvailabilityService availabilityService;
+
     private List<Restaurant> mockRestaurants;
 
+    private static final LocalDateTime DINNER = LocalDateTime.of(2030, 5, 1, 19, 0);
+
     @BeforeEach
     void setUp() {
         // Define mock data that includes clear tie-breaker scenarios for advanced search validation.
@@ -47,7 +55,10 @@ public class RestaurantServiceTest {
                 new Restaurant(6, "Wish Chow", 3, 1, 40, 1, "American")
         );
 
-        when(dataLoader.getRestaurants()).thenReturn(mockRestaurants);
+        when(dataLoader.getIndex()).thenReturn(RestaurantIndex.build(mockRestaurants));
+        availabilityService = new AvailabilityService(null, 4, Duration.ofHours(1));
+        restaurantService = new RestaurantService(dataLoader, new SearchResultCache(100, Duration.ofMinutes(5)),
+                new ParallelTopKSearch(0, 1024, 1), availabilityService);
     }
 
     @Nested
@@ -203,5 +214,176 @@ public class RestaurantServiceTest {
             assertEquals(5, results.size());
             assertOrder(results, "Deliciousgenix", "Deliciouszilla", "Wish Chow", "Local Delicious", "Fine Delicious");
         }
+
+        // --- Keyset Pagination Tests ---
+
+        @Test
+        void testCursorReturnsNextPageInRankOrder() {
+            // The cursor of the last result on page one must resume exactly after it.
+            List<Restaurant> firstPage = restaurantService.advancedSearch(
+                    RestaurantSearchOptions.builder().limit(2).build());
+            assertOrder(firstPage, "Deliciousgenix", "Deliciouszilla");
+
+            RestaurantSearchOptions nextOptions = RestaurantSearchOptions.builder()
+                    .limit(2)
+                    .cursor(SearchCursor.of(firstPage.get(1)))
+                    .build();
+
+            assertOrder(restaurantService.advancedSearch(nextOptions), "Wish Chow", "Local Delicious");
+        }
+
+        @Test
+        void testCursorPastLastResultReturnsEmpty() {
+            RestaurantSearchOptions options = RestaurantSearchOptions.builder()
+                    .cursor(SearchCursor.parse("9:3:25:2"))
+                    .build();
+
+            assertTrue(restaurantService.advancedSearch(options).isEmpty());
+        }
+
+        // --- Sort Mode Tests ---
+
+        @Test
+        void testCheapestSortOrdersByPrice() {
+            RestaurantSearchOptions options = RestaurantSearchOptions.builder()
+                    .sort(SortMode.CHEAPEST)
+                    .limit(3)
+                    .build();
+
+            assertOrder(restaurantService.advancedSearch(options), "Deliciousgenix", "Deliciouszilla", "Local Delicious");
+        }
+
+        @Test
+        void testBestRatedSortBreaksTiesByDistanceThenPrice() {
+            RestaurantSearchOptions options = RestaurantSearchOptions.builder()
+                    .sort(SortMode.BEST_RATED)
+                    .build();
+
+            assertOrder(restaurantService.advancedSearch(options),
+                    "Local Delicious", "Deliciousgenix", "Deliciouszilla", "Fine Delicious", "Wish Chow");
+        }
+
+        @Test
+        void testScoreSortRanksByWeightedScore() {
+            // Scores: R1 65, R5 60 (nearer than R4), R4 60, R6 15, R3 10, R2 -10
+            RestaurantSearchOptions options = RestaurantSearchOptions.builder()
+                    .sort(SortMode.SCORE)
+                    .limit(10)
+                    .build();
+
+            assertOrder(restaurantService.advancedSearch(options),
+                    "Deliciousgenix", "Deliciouszilla", "Local Delicious", "Wish Chow", "Fine Delicious", "Cuts Delicious");
+        }
+
+        @Test
+        void testCursorFollowsTheSelectedSortMode() {
+            List<Restaurant> firstPage = restaurantService.advancedSearch(
+                    RestaurantSearchOptions.builder().sort(SortMode.BEST_RATED).limit(2).build());
+            assertOrder(firstPage, "Local Delicious", "Deliciousgenix");
+
+            RestaurantSearchOptions nextOptions = RestaurantSearchOptions.builder()
+                    .sort(SortMode.BEST_RATED)
+                    .limit(2)
+                    .cursor(SearchCursor.of(firstPage.get(1)))
+                    .build();
+
+            assertOrder(restaurantService.advancedSearch(nextOptions), "Deliciouszilla", "Fine Delicious");
+        }
+
+        // --- Batch Search Tests ---
+
+        @Test
+        void testBatchReturnsEachQueryInRequestOrder() {
+            RestaurantSearchOptions cheapest = RestaurantSearchOptions.builder().sort(SortMode.CHEAPEST).limit(2).build();
+            RestaurantSearchOptions greek = RestaurantSearchOptions.builder().cuisine("greek").build();
+            RestaurantSearchOptions none = RestaurantSearchOptions.builder().rating(5).price(1).build();
+
+            List<List<Restaurant>> results = restaurantService.batchSearch(List.of(cheapest, greek, none, cheapest));
+
+            assertEquals(4, results.size());
+            assertOrder(results.get(0), "Deliciousgenix", "Deliciouszilla");
+            assertOrder(results.get(1), "Local Delicious");
+            assertTrue(results.get(2).isEmpty());
+            assertEquals(results.get(0), results.get(3));
+            assertEquals(restaurantService.advancedSearch(greek), results.get(1));
+        }
+
+        // --- Streaming Tests ---
+
+        @Test
+        void testStreamMatchesAdvancedSearchInRankOrder() {
+            RestaurantSearchOptions options = RestaurantSearchOptions.builder()
+                    .sort(SortMode.BEST_RATED)
+                    .rating(4)
+                    .limit(3)
+                    .build();
+
+            List<Restaurant> streamed = restaurantService.streamSearch(options).toList();
+
+            assertOrder(streamed, "Local Delicious", "Deliciousgenix", "Deliciouszilla");
+            assertEquals(restaurantService.advancedSearch(options), streamed);
+        }
+
+        // --- Fuzzy Name Tests ---
+
+        @Test
+        void testFuzzyNameToleratesTypos() {
+            RestaurantSearchOptions exact = RestaurantSearchOptions.builder().name("Wish Chw").build();
+            assertTrue(restaurantService.advancedSearch(exact).isEmpty());
+
+            RestaurantSearchOptions fuzzy = exact.toBuilder().fuzzy(1).build();
+            assertOrder(restaurantService.advancedSearch(fuzzy), "Wish Chow");
+        }
+
+        @Test
+        void testFuzzyNameStillMatchesSubstrings() {
+            RestaurantSearchOptions options = RestaurantSearchOptions.builder()
+                    .name("delicous")
+                    .fuzzy(2)
+                    .limit(10)
+                    .build();
+
+            // Names with the word "delicious" match by edit distance; the rest do not contain "delicous"
+            assertOrder(restaurantService.advancedSearch(options), "Local Delicious", "Fine Delicious", "Cuts Delicious");
+        }
+
+        // --- Availability Tests ---
+
+        @Test
+        void testAvailableSearchSkipsFullRestaurants() {
+            availabilityService.book(Reservation.builder().restaurantId(4).guestCount(4)
+                    .startTime(DINNER).endTime(DINNER.plusHours(1)).build());
+            RestaurantSearchOptions options = RestaurantSearchOptions.builder()
+                    .sort(SortMode.BEST_RATED)
+                    .rating(4)
+                    .limit(3)
+                    .build();
+
+            assertOrder(restaurantService.searchAvailable(options, DINNER, null, 2),
+                    "Deliciousgenix", "Deliciouszilla", "Fine Delicious");
+            // Later in the evening the table is free again
+            assertOrder(restaurantService.searchAvailable(options, DINNER.plusHours(1), null, 2),
+                    "Local Delicious", "Deliciousgenix", "Deliciouszilla");
+        }
+
+        @Test
+        void testAvailableSearchWalkingSortOrderSkipsFullRestaurants() {
+            availabilityService.book(Reservation.builder().restaurantId(4).guestCount(3)
+                    .startTime(DINNER).endTime(DINNER.plusHours(2)).build());
+            RestaurantSearchOptions options = RestaurantSearchOptions.builder()
+                    .sort(SortMode.BEST_RATED)
+                    .limit(1)
+                    .build();
+
+            assertOrder(restaurantService.searchAvailable(options, DINNER.plusMinutes(30), null, 1), "Local Delicious");
+            assertOrder(restaurantService.searchAvailable(options, DINNER.plusMinutes(30), null, 2), "Deliciousgenix");
+        }
+
+        @Test
+        void testAvailableSearchForPartyLargerThanCapacityIsEmpty() {
+            RestaurantSearchOptions options = RestaurantSearchOptions.builder().limit(10).build();
+
+            assertTrue(restaurantService.searchAvailable(options, DINNER, null, 5).isEmpty());
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,75 @@
+package org.galaxy.server.service;
+
+import org.galaxy.server.model.Restaurant;
+import org.galaxy.server.model.RestaurantSearchOptions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SearchResultCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Supplier<List<Restaurant>> loader = () -> {
+        loads.incrementAndGet();
+        return List.of(new Restaurant(1, "Deliciousgenix", 4, 1, 10, 11, "Spanish"));
+    };
+
+    private static RestaurantSearchOptions key(String cuisine) {
+        return RestaurantSearchOptions.builder().cuisine(cuisine).build().normalized();
+    }
+
+    @Test
+    void testNormalizedOptionsShareAnEntry() {
+        SearchResultCache cache = new SearchResultCache(10, Duration.ofMinutes(5));
+
+        cache.get(1, key("Spanish"), loader);
+        cache.get(1, key("  spanish "), loader);
+
+        assertEquals(1, loads.get());
+        SearchResultCache.Stats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(0.5, stats.hitRate());
+    }
+
+    @Test
+    void testNewDatasetVersionInvalidatesEntries() {
+        SearchResultCache cache = new SearchResultCache(10, Duration.ofMinutes(5));
+
+        cache.get(1, key("Spanish"), loader);
+        cache.get(2, key("Spanish"), loader);
+
+        assertEquals(2, loads.get());
+        assertEquals(2, cache.stats().datasetVersion());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() {
+        SearchResultCache cache = new SearchResultCache(2, Duration.ofMinutes(5));
+
+        cache.get(1, key("Spanish"), loader);
+        cache.get(1, key("Korean"), loader);
+        cache.get(1, key("Spanish"), loader);
+        cache.get(1, key("Greek"), loader);
+        cache.get(1, key("Spanish"), loader);
+
+        assertEquals(3, loads.get());
+        assertEquals(2, cache.stats().size());
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    void testExpiredEntryIsReloaded() {
+        SearchResultCache cache = new SearchResultCache(10, Duration.ZERO);
+
+        cache.get(1, key("Spanish"), loader);
+        cache.get(1, key("Spanish"), loader);
+
+        assertEquals(2, loads.get());
+    }
+}